@@ -0,0 +1,26 @@
+package maze.benchmarks;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks from the command line of JMH, adding the GC profiler
+ * unless it was already asked for, so that every run reports the allocation
+ * rate next to the throughput.
+ */
+public class Benchmarks {
+
+	public static void main(String[] args) throws Exception {
+		for(int i = 0; i < args.length - 1; i++){
+			if(args[i].equals("-prof") && args[i + 1].startsWith("gc")){
+				Main.main(args);
+				return;
+			}
+		}
+		String[] all = Arrays.copyOf(args, args.length + 2);
+		all[args.length] = "-prof";
+		all[args.length + 1] = "gc";
+		Main.main(all);
+	}
+}
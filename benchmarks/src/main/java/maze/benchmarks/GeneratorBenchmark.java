@@ -0,0 +1,113 @@
+package maze.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import maze.AldousBroderGenerator;
+import maze.AldousBroderWilsonGenerator;
+import maze.BacktrackerGenerator;
+import maze.BinaryTreeGenerator;
+import maze.EllersGenerator;
+import maze.HuntAndKillGenerator;
+import maze.KruskalGenerator;
+import maze.MazeGenerator;
+import maze.MazeGrid;
+import maze.ParallelKruskalGenerator;
+import maze.ParallelRecursiveDivisionGenerator;
+import maze.PrimsGenerator;
+import maze.RecursiveDivisionGenerator;
+import maze.SidewinderGenerator;
+import maze.TiledGenerator;
+import maze.WilsonGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Carves a square maze of every size with every generator. Every invocation
+ * carves the same maze from the same seed into the same grid, so only the
+ * work and garbage of the algorithm itself are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class GeneratorBenchmark {
+
+	/** The seed of every maze.												 */
+	public static final long SEED = 0x5EED;
+
+	@Param({"backtracker", "prims", "huntAndKill", "huntAndKillRandom",
+			"aldousBroder", "recursiveDivision", "wilson", "aldousBroderWilson",
+			"ellers", "kruskal", "sidewinder", "binaryTree", "parallelKruskal",
+			"parallelRecursiveDivision", "tiledBacktracker"})
+	public String algorithm;
+
+	/** The number of rows and of columns.									 */
+	@Param({"32", "256", "1024", "4096"})
+	public int size;
+
+	private MazeGenerator generator;
+
+	private MazeGrid grid;
+
+	@Setup
+	public void setUp(){
+		generator = generator(algorithm);
+		grid = new MazeGrid(size, size);
+	}
+
+	@Benchmark
+	public MazeGrid generate(){
+		generator.generate(grid, SEED);
+		return grid;
+	}
+
+	/** The generator of the given name.									 */
+	static MazeGenerator generator(String name){
+		switch(name){
+		case "backtracker":
+			return new BacktrackerGenerator();
+		case "prims":
+			return new PrimsGenerator();
+		case "huntAndKill":
+			return new HuntAndKillGenerator();
+		case "huntAndKillRandom":
+			return new HuntAndKillGenerator(HuntAndKillGenerator.Hunt.RANDOM);
+		case "aldousBroder":
+			return new AldousBroderGenerator();
+		case "recursiveDivision":
+			return new RecursiveDivisionGenerator();
+		case "wilson":
+			return new WilsonGenerator();
+		case "aldousBroderWilson":
+			return new AldousBroderWilsonGenerator();
+		case "ellers":
+			return new EllersGenerator();
+		case "kruskal":
+			return new KruskalGenerator();
+		case "sidewinder":
+			return new SidewinderGenerator();
+		case "binaryTree":
+			return new BinaryTreeGenerator();
+		case "parallelKruskal":
+			return new ParallelKruskalGenerator();
+		case "parallelRecursiveDivision":
+			return new ParallelRecursiveDivisionGenerator();
+		case "tiledBacktracker":
+			return new TiledGenerator(new BacktrackerGenerator());
+		default:
+			throw new IllegalArgumentException("Unknown generator: " + name);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package maze.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import maze.AStarSolver;
+import maze.BreadthFirstSolver;
+import maze.DeadEndFillingSolver;
+import maze.MazeGrid;
+import maze.MazeSolver;
+import maze.WallFollowerSolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Solves a square maze of every size and kind with every solver, from the top
+ * left corner to the bottom right one as <code>Maze.solve()</code> does. The
+ * maze is carved once from a fixed seed by one of the generators of
+ * {@link GeneratorBenchmark}, since the texture of the maze decides which
+ * solver is fastest: the backtracker makes long winding passages, while
+ * Prim's and Kruskal's make many short dead ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class SolverBenchmark {
+
+	@Param({"breadthFirst", "aStar", "deadEndFilling", "wallFollower",
+			"wallFollowerRight"})
+	public String solver;
+
+	/** The generator of the maze, as named by {@link GeneratorBenchmark}.	 */
+	@Param({"backtracker", "prims", "huntAndKill", "kruskal",
+			"recursiveDivision", "sidewinder"})
+	public String maze;
+
+	/** The number of rows and of columns.									 */
+	@Param({"32", "256", "1024", "4096"})
+	public int size;
+
+	private MazeSolver mazeSolver;
+
+	private MazeGrid grid;
+
+	@Setup
+	public void setUp(){
+		mazeSolver = solver(solver);
+		grid = new MazeGrid(size, size);
+		GeneratorBenchmark.generator(maze).generate(grid, GeneratorBenchmark.SEED);
+	}
+
+	@Benchmark
+	public int[] solve(){
+		return mazeSolver.solve(grid, 0, grid.size() - 1);
+	}
+
+	/** The solver of the given name.										 */
+	static MazeSolver solver(String name){
+		switch(name){
+		case "breadthFirst":
+			return new BreadthFirstSolver();
+		case "aStar":
+			return new AStarSolver();
+		case "deadEndFilling":
+			return new DeadEndFillingSolver();
+		case "wallFollower":
+			return new WallFollowerSolver();
+		case "wallFollowerRight":
+			return new WallFollowerSolver(false);
+		default:
+			throw new IllegalArgumentException("Unknown solver: " + name);
+		}
+	}
+}
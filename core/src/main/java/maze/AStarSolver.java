@@ -0,0 +1,106 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Finds a shortest path with A* search, using the Manhattan distance to the
+ * goal as the heuristic. The open set is a binary heap of longs, each holding
+ * the estimated length of a path through a cell in its high half and the cell
+ * in its low half, so the heap needs no objects.
+ */
+public class AStarSolver implements MazeSolver {
+
+	public int[] solve(MazeGrid grid, int start, int goal,
+			StepListener listener){
+		int columns = grid.getColumns();
+		int goalRow = goal / columns, goalColumn = goal % columns;
+
+		int[] parent = new int[grid.size()];
+		int[] distance = new int[grid.size()];
+		Arrays.fill(distance, Integer.MAX_VALUE);
+		BitSet closed = new BitSet(grid.size());
+
+		long[] heap = new long[64];
+		int size = 0;
+
+		parent[start] = start;
+		distance[start] = 0;
+		heap[size++] = key(0, start);
+
+		while(size > 0){
+			int cell = (int)heap[0];
+			heap[0] = heap[--size];
+			siftDown(heap, size, 0);
+
+			//A cell may be in the heap more than once; only the first counts.
+			if(closed.get(cell)){
+				continue;
+			}
+			if(cell == goal){
+				return MazeSolver.path(parent, goal);
+			}
+			closed.set(cell);
+			listener.step();
+
+			for(int mask = grid.passageMask(cell); mask != 0; mask &= mask - 1){
+				int neighbor = grid.neighbor(cell, Integer.lowestOneBit(mask));
+				int d = distance[cell] + 1;
+				if(!closed.get(neighbor) && d < distance[neighbor]){
+					distance[neighbor] = d;
+					parent[neighbor] = cell;
+
+					int estimate = d + Math.abs(neighbor / columns - goalRow)
+							+ Math.abs(neighbor % columns - goalColumn);
+					if(size == heap.length){
+						heap = Arrays.copyOf(heap, size * 2);
+					}
+					heap[size] = key(estimate, neighbor);
+					siftUp(heap, size++);
+				}
+			}
+			listener.frontier(size);
+		}
+		return null;
+	}
+
+	private static long key(int estimate, int cell){
+		return ((long)estimate << 32) | cell;
+	}
+
+	private static void siftUp(long[] heap, int i){
+		long key = heap[i];
+		while(i > 0){
+			int parent = (i - 1) >>> 1;
+			if(heap[parent] <= key){
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = key;
+	}
+
+	private static void siftDown(long[] heap, int size, int i){
+		long key = heap[i];
+		while(true){
+			int child = 2*i + 1;
+			if(child >= size){
+				break;
+			}
+			if(child + 1 < size && heap[child + 1] < heap[child]){
+				child++;
+			}
+			if(key <= heap[child]){
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = key;
+	}
+
+	public String getName(){
+		return "A*";
+	}
+}
@@ -0,0 +1,62 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a uniformly random maze with the Aldous-Broder algorithm: a random
+ * walk that knocks down the wall into every cell it enters for the first time.
+ */
+public class AldousBroderGenerator implements MazeGenerator {
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		BitSet visitedSet = new BitSet(grid.size());
+		int current = 0;
+		visitedSet.set(current);
+
+		current = walk(grid, random, listener, visitedSet, current, grid.size());
+		listener.setColor(current, Palette.WHITE);
+		listener.step();
+	}
+
+	/**
+	 * Walks randomly from the given cell, joining every cell entered for the
+	 * first time to the maze, until <code>target</code> cells are visited.
+	 *
+	 * @param visitedSet The cells already in the maze, which must include
+	 * 		<code>current</code>. Visited cells are added to it.
+	 * @return The cell the walk stopped on.
+	 */
+	static int walk(MazeGrid grid, RandomGenerator random, StepListener listener,
+			BitSet visitedSet, int current, int target){
+		int visited = visitedSet.cardinality();
+
+		listener.setColor(current, Palette.GREEN);
+
+		while(visited < target){
+			listener.step();
+
+			int next = grid.neighbor(current,
+					MazeGrid.randomDirection(random, grid.neighborMask(current)));
+
+
+			if(!visitedSet.get(next)){
+				visitedSet.set(next);
+				visited++;
+				grid.knockDownWall(current, next);
+			}
+			listener.setColor(current, Palette.WHITE);
+			listener.setColor(next, Palette.GREEN);
+			current = next;
+		}
+		return current;
+	}
+
+	public String getName(){
+		return "Alduos-Broder";
+	}
+}
@@ -0,0 +1,49 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a uniformly random maze by running Aldous-Broder until part of the
+ * grid is covered and finishing with Wilson's algorithm. Aldous-Broder is fast
+ * while most cells are new and Wilson's is fast once the maze is large, so
+ * the hybrid avoids the slow end of each. Both leave the maze uniformly
+ * distributed, so the result is uniform as well.
+ */
+public class AldousBroderWilsonGenerator implements MazeGenerator {
+
+	/** The fraction of cells visited before switching to Wilson's.			 */
+	private final double coverage;
+
+	public AldousBroderWilsonGenerator(){
+		this(1/3.0);
+	}
+
+	public AldousBroderWilsonGenerator(double coverage){
+		if(coverage < 0 || coverage > 1){
+			throw new IllegalArgumentException("Invalid coverage: " + coverage);
+		}
+		this.coverage = coverage;
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		BitSet inMaze = new BitSet(grid.size());
+		int current = random.nextInt(grid.size());
+		inMaze.set(current);
+
+		int target = Math.max(1, (int)(coverage * grid.size()));
+		current = AldousBroderGenerator.walk(grid, random, listener, inMaze,
+				current, target);
+		listener.setColor(current, Palette.WHITE);
+
+		WilsonGenerator.complete(grid, random, listener, inMaze);
+	}
+
+	public String getName(){
+		return "Alduos-Broder / Wilson's";
+	}
+}
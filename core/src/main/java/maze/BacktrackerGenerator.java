@@ -0,0 +1,71 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with a randomized depth first search.
+ */
+public class BacktrackerGenerator implements MazeGenerator {
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		//Every cell of the grid can be reached once the walls are ignored.
+		BitSet unVisited = new BitSet(grid.size());
+		unVisited.set(0, grid.size());
+
+		int[] stack = new int[grid.size()];
+		int size = 0;
+
+		int current = random.nextInt(grid.size());
+		unVisited.clear(current);
+		listener.setColor(current, Palette.RED);
+
+
+		while(!unVisited.isEmpty()){
+			//The unvisited neighbors that are still walled off from current.
+			int candidates = grid.maskIn(current, grid.wallMask(current), unVisited);
+
+			listener.step();
+
+			if(candidates == 0){
+				listener.setColor(current, Palette.WHITE);
+
+				if(size == 0){
+					current = unVisited.nextSetBit(0);
+					unVisited.clear(current);
+				} else {
+					current = stack[--size];
+					listener.backtrack();
+				}
+				listener.setColor(current, Palette.GREEN);
+			} else {
+				stack[size++] = current;
+				listener.frontier(size);
+
+				int chosen = grid.neighbor(current,
+						MazeGrid.randomDirection(random, candidates));
+				grid.knockDownWall(current, chosen);
+
+				unVisited.clear(chosen);
+				current = chosen;
+
+				listener.setColor(current, Palette.GREEN);
+			}
+		}
+
+		listener.setColor(current, Palette.WHITE);
+
+		while(size > 0){
+			listener.setColor(stack[--size], Palette.WHITE);
+			listener.step();
+		}
+	}
+
+	public String getName(){
+		return "DFS / Backtracker";
+	}
+}
@@ -0,0 +1,40 @@
+package maze;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze by joining every cell to its neighbor above or to its left,
+ * chosen at random. Every cell decides alone, so rows are carved in parallel.
+ * The maze is biased: the top row and the left column are open corridors and
+ * every path leads up and left.
+ */
+public class BinaryTreeGenerator extends RowParallelGenerator {
+
+	public BinaryTreeGenerator(){
+	}
+
+	public BinaryTreeGenerator(ForkJoinPool pool, int threshold){
+		super(pool, threshold);
+	}
+
+	protected void carveRow(Band band, int row, RandomGenerator random){
+		MazeGrid grid = band.getGrid();
+		int columns = grid.getColumns();
+		int cell = grid.index(row, 0);
+
+		for(int column = 0; column < columns; column++, cell++){
+			boolean up = row > 0 && (column == 0 || random.nextBoolean());
+			if(up){
+				band.knockDownWall(cell, cell - columns);
+			} else if(column > 0){
+				band.knockDownWall(cell, cell - 1);
+			}
+			band.setColor(cell, Palette.WHITE);
+		}
+	}
+
+	public String getName(){
+		return "Binary Tree";
+	}
+}
@@ -0,0 +1,56 @@
+package maze;
+
+import java.util.BitSet;
+
+/**
+ * Finds a shortest path with a breadth first search.
+ */
+public class BreadthFirstSolver implements MazeSolver {
+
+	public int[] solve(MazeGrid grid, int start, int goal,
+			StepListener listener){
+		return search(grid, start, goal, new BitSet(grid.size()), listener);
+	}
+
+	/**
+	 * Searches breadth first from start, never entering a cell in
+	 * <code>blocked</code>. Cells are added to blocked as they are reached.
+	 *
+	 * @return A shortest path from start to goal, or null if there is none.
+	 */
+	static int[] search(MazeGrid grid, int start, int goal, BitSet blocked,
+			StepListener listener){
+		int[] parent = new int[grid.size()];
+
+		//Every cell is enqueued at most once, so the queue never wraps.
+		int[] queue = new int[grid.size()];
+		int head = 0, tail = 0;
+
+		parent[start] = start;
+		blocked.set(start);
+		queue[tail++] = start;
+
+		while(head < tail){
+			int cell = queue[head++];
+			listener.step();
+			if(cell == goal){
+				return MazeSolver.path(parent, goal);
+			}
+
+			for(int mask = grid.passageMask(cell); mask != 0; mask &= mask - 1){
+				int neighbor = grid.neighbor(cell, Integer.lowestOneBit(mask));
+				if(!blocked.get(neighbor)){
+					blocked.set(neighbor);
+					parent[neighbor] = cell;
+					queue[tail++] = neighbor;
+				}
+			}
+			listener.frontier(tail - head);
+		}
+		return null;
+	}
+
+	public String getName(){
+		return "Breadth First Search";
+	}
+}
@@ -0,0 +1,98 @@
+package maze;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A disjoint-set forest over the integers <code>0..size-1</code> that any
+ * number of threads may use at once without locks. Parents are updated with
+ * compare-and-set: finds halve their paths, and unions link one root under
+ * the other, retrying if either root changed in the meantime. Roots are
+ * linked in the order of a fixed hash of their indices rather than by rank,
+ * which keeps the trees shallow without any state beyond the parents.
+ */
+public class ConcurrentUnionFind {
+
+	private final AtomicIntegerArray parent;
+
+	/**
+	 * Makes <code>size</code> singleton sets.
+	 */
+	public ConcurrentUnionFind(int size){
+		parent = new AtomicIntegerArray(size);
+		for(int i = 0; i < size; i++){
+			parent.set(i, i);
+		}
+	}
+
+	/**
+	 * The representative of the set containing <code>a</code>. It may stop
+	 * being the representative as soon as another thread merges the set.
+	 */
+	public int find(int a){
+		while(true){
+			int p = parent.get(a);
+			if(p == a){
+				return a;
+			}
+			int grandparent = parent.get(p);
+			if(grandparent == p){
+				return p;
+			}
+			//Path halving. Losing the race only leaves the path longer.
+			parent.compareAndSet(a, p, grandparent);
+			a = grandparent;
+		}
+	}
+
+	/**
+	 * Merges the sets containing <code>a</code> and <code>b</code>.
+	 *
+	 * @return false if they were already in the same set.
+	 */
+	public boolean union(int a, int b){
+		while(true){
+			a = find(a);
+			b = find(b);
+			if(a == b){
+				return false;
+			}
+			if(Integer.compareUnsigned(priority(a), priority(b)) > 0){
+				int temp = a;
+				a = b;
+				b = temp;
+			}
+			//Fails if a stopped being a root, in which case the roots are
+			//found again.
+			if(parent.compareAndSet(a, a, b)){
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Holds whether <code>a</code> and <code>b</code> are in the same set. A
+	 * false answer holds at some moment during the call.
+	 */
+	public boolean connected(int a, int b){
+		while(true){
+			a = find(a);
+			b = find(b);
+			if(a == b){
+				return true;
+			}
+			//a was still a root after b was found, so they were apart then.
+			if(parent.get(a) == a){
+				return false;
+			}
+		}
+	}
+
+	/** The order in which roots are linked, the lower under the higher.	 */
+	private static int priority(int a){
+		return a * 0x9E3779B9;
+	}
+
+	public int size(){
+		return parent.length();
+	}
+}
@@ -0,0 +1,55 @@
+package maze;
+
+import java.util.BitSet;
+
+/**
+ * Solves a maze by dead-end filling: every dead end other than the start and
+ * goal is filled in, along with the corridor leading to it, until none are
+ * left. In a perfect maze only the solution remains; in any other maze the
+ * remaining cells are searched for a shortest path.
+ */
+public class DeadEndFillingSolver implements MazeSolver {
+
+	public int[] solve(MazeGrid grid, int start, int goal,
+			StepListener listener){
+		int size = grid.size();
+		BitSet filled = new BitSet(size);
+
+		//The number of unfilled cells each cell has a passage to.
+		byte[] degree = new byte[size];
+
+		//Every cell is filled at most once, so the queue never wraps.
+		int[] queue = new int[size];
+		int head = 0, tail = 0;
+
+		for(int cell = 0; cell < size; cell++){
+			degree[cell] = (byte)Integer.bitCount(grid.passageMask(cell));
+			if(degree[cell] <= 1 && cell != start && cell != goal){
+				filled.set(cell);
+				queue[tail++] = cell;
+			}
+		}
+		listener.frontier(tail);
+
+		while(head < tail){
+			int cell = queue[head++];
+			listener.step();
+
+			for(int mask = grid.passageMask(cell); mask != 0; mask &= mask - 1){
+				int neighbor = grid.neighbor(cell, Integer.lowestOneBit(mask));
+				if(!filled.get(neighbor) && --degree[neighbor] <= 1
+						&& neighbor != start && neighbor != goal){
+					filled.set(neighbor);
+					queue[tail++] = neighbor;
+				}
+			}
+			listener.frontier(tail - head);
+		}
+
+		return BreadthFirstSolver.search(grid, start, goal, filled, listener);
+	}
+
+	public String getName(){
+		return "Dead-End Filling";
+	}
+}
@@ -0,0 +1,147 @@
+package maze;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with Eller's algorithm. The maze is made a row at a time,
+ * remembering only which cells of the last row are connected, so it can be
+ * streamed to a {@link RowSink} with memory that grows with the number of
+ * columns but not with the number of rows.
+ */
+public class EllersGenerator implements MazeGenerator {
+
+	public void generate(final MazeGrid grid, RandomGenerator random,
+			final StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		final int columns = grid.getColumns();
+		try {
+			stream(grid.getRows(), columns, random, new RowSink(){
+				public void row(int row, byte[] walls){
+					int base = row * columns;
+					for(int column = 0; column < columns; column++){
+						int cell = base + column;
+						if((walls[column] & RIGHT) == 0){
+							grid.knockDownWall(cell, cell + 1);
+						}
+						if((walls[column] & BOTTOM) == 0){
+							grid.knockDownWall(cell, cell + columns);
+						}
+						listener.setColor(cell, Palette.WHITE);
+					}
+					listener.step();
+				}
+			});
+		} catch(IOException e){
+			//The sink above never throws.
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Generates a maze of the given size and passes its rows to the sink as
+	 * they are finished.
+	 */
+	public static void stream(int rows, int columns, RandomGenerator random,
+			RowSink sink) throws IOException {
+		if(rows < 1 || columns < 1){
+			throw new IllegalArgumentException("Invalid grid size: " + rows
+					+ "x" + columns);
+		}
+
+		//The set of every cell of the row is the column of its root in a
+		//union-find over the columns, rebuilt every row.
+		int[] parent = new int[columns];
+
+		//The set each cell carries down from the row above, or -1.
+		int[] above = new int[columns];
+		Arrays.fill(above, -1);
+
+		//The first column of the row holding each set from above.
+		int[] first = new int[columns];
+
+		//Per set: the cells seen so far, a random one of them, and whether
+		//one of them opens down.
+		int[] count = new int[columns], chosen = new int[columns];
+		boolean[] down = new boolean[columns];
+
+		byte[] walls = new byte[columns];
+
+		for(int row = 0; row < rows; row++){
+			boolean last = row == rows - 1;
+
+			Arrays.fill(first, -1);
+			for(int column = 0; column < columns; column++){
+				parent[column] = column;
+				int set = above[column];
+				if(set >= 0){
+					if(first[set] < 0){
+						first[set] = column;
+					} else {
+						parent[column] = first[set];
+					}
+				}
+				walls[column] = RowSink.RIGHT | RowSink.BOTTOM;
+			}
+
+			//Joins neighbors of different sets at random, or always in the
+			//last row so that every set ends up connected.
+			for(int column = 0; column < columns - 1; column++){
+				int a = find(parent, column), b = find(parent, column + 1);
+				if(a != b && (last || random.nextBoolean())){
+					walls[column] &= ~RowSink.RIGHT;
+					parent[Math.max(a, b)] = Math.min(a, b);
+				}
+			}
+
+			if(last){
+				sink.row(row, walls);
+				break;
+			}
+
+			//Every set opens down at random, and at least once.
+			Arrays.fill(count, 0);
+			Arrays.fill(down, false);
+			for(int column = 0; column < columns; column++){
+				int set = find(parent, column);
+				parent[column] = set;
+				if(random.nextInt(++count[set]) == 0){
+					chosen[set] = column;
+				}
+				if(random.nextBoolean()){
+					walls[column] &= ~RowSink.BOTTOM;
+					down[set] = true;
+				}
+			}
+			for(int column = 0; column < columns; column++){
+				int set = parent[column];
+				if(!down[set]){
+					walls[chosen[set]] &= ~RowSink.BOTTOM;
+					down[set] = true;
+				}
+			}
+			for(int column = 0; column < columns; column++){
+				above[column] = (walls[column] & RowSink.BOTTOM) == 0 ? parent[column] : -1;
+			}
+
+			sink.row(row, walls);
+		}
+	}
+
+	/** The root of the column, halving the path on the way up.				 */
+	private static int find(int[] parent, int column){
+		while(parent[column] != column){
+			parent[column] = parent[parent[column]];
+			column = parent[column];
+		}
+		return column;
+	}
+
+	public String getName(){
+		return "Eller's";
+	}
+}
@@ -0,0 +1,104 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * A record of the steps of an algorithm, kept so that they can be animated
+ * after the algorithm is done. The algorithm writes to the log at full speed as
+ * its {@link StepListener} and as the {@link MazeGrid.WallListener} of the grid
+ * it works on, and a {@link Playback} applies the events to a grid on screen
+ * later, as many times and as fast as it likes.
+ * <p>
+ * Every event is packed into one long: its kind in the top two bits, a cell in
+ * the low 32 bits and a color or wall in the bits between. There is a single
+ * writer, and any number of threads may read the events that have been
+ * published by {@link #size()} while it is still writing.
+ */
+public class EventLog implements StepListener, MazeGrid.WallListener {
+
+	/** The kinds of event.												 */
+	public static final int COLOR = 0, WALL = 1, ALL_WALLS = 2, STEP = 3;
+
+	/** The bits between the cell and the kind of an event.				 */
+	private static final long BOTTOM = 1L << 32, RAISED = 1L << 33;
+
+	/**
+	 * The events. The array is replaced as the log grows, and is volatile so
+	 * that a reader sees the events copied into whichever array it finds.
+	 */
+	private volatile long[] events = new long[1024];
+
+	/** The number of events that readers may see.						 */
+	private volatile int size;
+
+	/** The number of steps in the log.									 */
+	private volatile int steps;
+
+	private void add(long event){
+		int n = size;
+		long[] array = events;
+		if(n == array.length){
+			array = Arrays.copyOf(array, n * 2);
+			events = array;
+		}
+		array[n] = event;
+		size = n + 1;
+	}
+
+	public void setColor(int cell, byte color){
+		add((long)COLOR << 62 | (long)(color & 0xFF) << 32 | cell);
+	}
+
+	public void step(){
+		add((long)STEP << 62);
+		steps++;
+	}
+
+	public void wallChanged(int a, int b, boolean raised){
+		//The grid always reports the lower cell first.
+		add((long)WALL << 62 | (b == a + 1 ? 0 : BOTTOM) | (raised ? RAISED : 0) | a);
+	}
+
+	public void allWallsChanged(boolean raised){
+		add((long)ALL_WALLS << 62 | (raised ? RAISED : 0));
+	}
+
+	/** The number of events published so far.							 */
+	public int size(){
+		return size;
+	}
+
+	/** The number of steps published so far.								 */
+	public int getSteps(){
+		return steps;
+	}
+
+	public long get(int index){
+		if(index >= size){
+			throw new IndexOutOfBoundsException(index);
+		}
+		//Read after the size, so the array holds at least the events it counts.
+		return events[index];
+	}
+
+	public static int kind(long event){
+		return (int)(event >>> 62);
+	}
+
+	public static int cell(long event){
+		return (int)event;
+	}
+
+	public static byte color(long event){
+		return (byte)(event >>> 32);
+	}
+
+	/** Holds whether a wall event is for the bottom wall of its cell.	 */
+	public static boolean isBottom(long event){
+		return (event & BOTTOM) != 0;
+	}
+
+	public static boolean isRaised(long event){
+		return (event & RAISED) != 0;
+	}
+}
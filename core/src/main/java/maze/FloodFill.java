@@ -0,0 +1,75 @@
+package maze;
+
+import java.util.BitSet;
+
+/**
+ * An iterative flood fill over the cells of a {@link MazeGrid}. Cells are
+ * visited in breadth-first order using an explicit queue, so the fill never
+ * recurses and works on grids of any size.
+ */
+public class FloodFill {
+
+	private FloodFill(){}
+
+	/**
+	 * The set of cells reachable from <code>start</code> by moving through
+	 * knocked down walls.
+	 */
+	public static BitSet connected(MazeGrid grid, int start){
+		return fill(grid, start, false);
+	}
+
+	/**
+	 * The set of cells reachable from <code>start</code> when walls are
+	 * ignored, i.e. the cells of the grid graph that contain start.
+	 */
+	public static BitSet reachable(MazeGrid grid, int start){
+		return fill(grid, start, true);
+	}
+
+	/**
+	 * Fills the grid from <code>start</code>.
+	 *
+	 * @param throughWalls Whether the fill may cross raised walls.
+	 * @return The set of filled cells.
+	 */
+	public static BitSet fill(MazeGrid grid, int start, boolean throughWalls){
+		int columns = grid.getColumns(), size = grid.size();
+		BitSet visited = new BitSet(size);
+
+		//Every cell is enqueued at most once, so the queue never wraps.
+		int[] queue = new int[size];
+		int head = 0, tail = 0;
+
+		visited.set(start);
+		queue[tail++] = start;
+
+		while(head < tail){
+			int cell = queue[head++];
+			int column = cell % columns;
+
+			if(cell >= columns && !visited.get(cell - columns)
+					&& (throughWalls || !grid.hasTopWall(cell))){
+				visited.set(cell - columns);
+				queue[tail++] = cell - columns;
+			}
+			if(column < columns - 1 && !visited.get(cell + 1)
+					&& (throughWalls || !grid.hasRightWall(cell))){
+				visited.set(cell + 1);
+				queue[tail++] = cell + 1;
+			}
+			if(cell < size - columns && !visited.get(cell + columns)
+					&& (throughWalls || !grid.hasBottomWall(cell))){
+				visited.set(cell + columns);
+				queue[tail++] = cell + columns;
+			}
+			if(column > 0 && !visited.get(cell - 1)
+					&& (throughWalls || !grid.hasLeftWall(cell))){
+				visited.set(cell - 1);
+				queue[tail++] = cell - 1;
+			}
+		}
+
+		return visited;
+	}
+}
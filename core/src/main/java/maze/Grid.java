@@ -0,0 +1,164 @@
+package maze;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class Grid {
+
+	/** The indices of the start and finish cells.							 */
+	protected int origin, end;
+
+	protected int x, y, width;
+
+	protected int rows, columns;
+
+	protected Component component;
+
+	/** The walls of every cell.											 */
+	protected MazeGrid walls;
+
+	/** The color of every cell, as one of the {@link Palette} codes.		 */
+	protected byte[] colors;
+
+	/** Keeps the drawing of the grid up to date.							 */
+	protected MazeRenderer renderer;
+
+	/** Pans and zooms the grid. The renderer draws it while at home.		 */
+	protected Viewport view;
+
+	public Grid(int x, int y, int cellWidth, int rows, int columns, Component component){
+		this.x = x;
+		this.y = y;
+		width = cellWidth;
+		this.rows = rows;
+		this.columns = columns;
+		this.component = component;
+		walls = new MazeGrid(rows, columns);
+		colors = new byte[rows * columns];
+		renderer = new MazeRenderer(walls, colors, x, y, cellWidth);
+		view = new Viewport(walls, colors, x, y, cellWidth);
+		makeGrid();
+	}
+
+	/**
+	 * Resets the grid so that every wall is raised and every cell is unvisited.
+	 *
+	 * @return The walls of the grid.
+	 */
+	protected MazeGrid makeGrid(){
+		walls.raiseAllWalls();
+		Arrays.fill(colors, Palette.LIGHT_GRAY);
+		renderer.markAllDirty();
+
+		origin = 0;
+		colors[origin] = Palette.PINK;
+		end = rows * columns - 1;
+		colors[end] = Palette.BLUE;
+
+		return walls;
+	}
+
+	/**
+	 * The set of cells in the grid graph that contains the origin.
+	 */
+	public BitSet getVertexSet(){
+		return FloodFill.reachable(getWalls(), origin);
+	}
+
+	/**
+	 * The set of cells that can be reached from the given cell without
+	 * crossing a wall.
+	 */
+	public BitSet getConnectedSet(int cell){
+		return FloodFill.connected(getWalls(), cell);
+	}
+
+	/**
+	 * Holds whether the walls form a perfect maze, i.e. a spanning tree in
+	 * which every pair of cells is joined by exactly one path.
+	 */
+	public boolean isPerfect(){
+		//A spanning tree on n cells has exactly n - 1 passages.
+		MazeGrid walls = getWalls();
+		UnionFind sets = new UnionFind(rows * columns);
+		for(int cell = 0; cell < rows * columns; cell++){
+			if(!walls.hasRightWall(cell) && !sets.union(cell, cell + 1)){
+				return false;
+			}
+			if(!walls.hasBottomWall(cell) && !sets.union(cell, cell + columns)){
+				return false;
+			}
+		}
+		return sets.components() == 1;
+	}
+
+	public MazeGrid getWalls() {
+		return walls;
+	}
+
+	public void knockDownWall(int a, int b){
+		walls.knockDownWall(a, b);
+	}
+
+	public void raiseWall(int a, int b){
+		walls.raiseWall(a, b);
+	}
+
+	public byte getColor(int cell){
+		return colors[cell];
+	}
+
+	public void setColor(int cell, byte color){
+		colors[cell] = color;
+		renderer.markDirty(cell);
+	}
+
+	/**
+	 * Repaints the part of the component covering the cells that changed
+	 * since the last repaint.
+	 */
+	public void repaintChanges(){
+		Rectangle bounds = renderer.takeDirtyBounds();
+		if(bounds == null){
+			return;
+		} else if(isHomeView()){
+			component.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+		} else {
+			//The view draws only what is visible, so all of it is repainted.
+			component.repaint();
+		}
+	}
+
+	public Viewport getView(){
+		return view;
+	}
+
+	/**
+	 * Holds whether the view shows the grid at its own position and cell
+	 * width, where it is drawn from the image kept by the renderer.
+	 */
+	public boolean isHomeView(){
+		return view.getScale() == width && view.getX() == x && view.getY() == y;
+	}
+
+	/** Moves the view back to the position and cell width of the grid.	 */
+	public void resetView(){
+		view.set(x, y, width);
+	}
+
+	/**
+	 * Draws the part of the grid inside the clip of the given graphics. At
+	 * home, the cells that changed since the last call are drawn into the
+	 * renderer's image first; elsewhere only the visible cells are drawn.
+	 */
+	public void draw(Graphics pane){
+		if(isHomeView()){
+			renderer.render(pane);
+		} else {
+			view.draw(pane);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with the hunt and kill algorithm: a random walk that, once
+ * it is stuck, hunts for an unvisited cell next to the maze and continues from
+ * there.
+ */
+public class HuntAndKillGenerator implements MazeGenerator {
+
+	/** The ways of hunting for the next cell.								 */
+	public enum Hunt {
+		/**
+		 * Probes random cells until one is found. Nearly every probe misses
+		 * once most of the maze is carved.
+		 */
+		RANDOM,
+
+		/**
+		 * Takes the first unvisited cell in row order, skipping visited cells
+		 * a word of the bitset at a time. The hunts of a whole run cost
+		 * O(cells) in total.
+		 */
+		SCAN
+	}
+
+	private final Hunt hunt;
+
+	public HuntAndKillGenerator(){
+		this(Hunt.SCAN);
+	}
+
+	public HuntAndKillGenerator(Hunt hunt){
+		this.hunt = hunt;
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		int current = 0;//TODO
+
+		//Every cell of the grid can be reached once the walls are ignored.
+		BitSet unVisited = new BitSet(grid.size());
+		unVisited.set(0, grid.size());
+		unVisited.clear(current);
+
+		listener.setColor(current, Palette.RED);
+
+		//No cell before this one is unvisited.
+		int first = 0;
+
+		while(!unVisited.isEmpty()){
+			int candidates = grid.maskIn(current, grid.wallMask(current), unVisited);
+
+			listener.step();
+
+			if(candidates == 0){
+				listener.setColor(current, Palette.WHITE);
+
+				//We hunt for the new current
+				listener.backtrack();
+				if(hunt == Hunt.SCAN){
+					first = unVisited.nextSetBit(first);
+					current = scan(grid, unVisited, first);
+				} else {
+					current = probe(grid, random, unVisited);
+				}
+				int visited = visitedMask(grid, current, unVisited);
+				grid.knockDownWall(current, grid.neighbor(current,
+						MazeGrid.randomDirection(random, visited)));
+				unVisited.clear(current);
+				listener.setColor(current, Palette.GREEN);
+			} else {
+				int chosen = grid.neighbor(current,
+						MazeGrid.randomDirection(random, candidates));
+				grid.knockDownWall(current, chosen);
+
+				listener.setColor(current, Palette.WHITE);
+				unVisited.clear(chosen);
+				current = chosen;
+
+				listener.setColor(current, Palette.GREEN);
+			}
+		}
+
+		listener.setColor(current, Palette.WHITE);
+	}
+
+	/**
+	 * The directions in which the cell has a visited neighbor.
+	 */
+	private static int visitedMask(MazeGrid grid, int cell, BitSet unVisited){
+		int mask = grid.neighborMask(cell);
+		return mask & ~grid.maskIn(cell, mask, unVisited);
+	}
+
+	/**
+	 * Finds the first unvisited cell, in row order, that has a visited
+	 * neighbor. Since cells are never unvisited again, the scan can start
+	 * from the first unvisited cell of the previous hunt.
+	 */
+	private static int scan(MazeGrid grid, BitSet unVisited, int from){
+		for(int cell = unVisited.nextSetBit(from); ; cell = unVisited.nextSetBit(cell + 1)){
+			//Every cell before this one is visited, so unless it is in the
+			//first row its top neighbor already is. The loop exits at once.
+			if(visitedMask(grid, cell, unVisited) != 0){
+				return cell;
+			}
+		}
+	}
+
+	/**
+	 * Probes random cells until an unvisited cell with a visited neighbor is
+	 * found.
+	 */
+	private static int probe(MazeGrid grid, RandomGenerator random, BitSet unVisited){
+		while(true){
+			int cell = random.nextInt(grid.size());
+			if(unVisited.get(cell) && visitedMask(grid, cell, unVisited) != 0){
+				return cell;
+			}
+		}
+	}
+
+	public String getName(){
+		return "Hunt and Kill";
+	}
+}
@@ -0,0 +1,94 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with Kruskal's algorithm: the interior walls are shuffled
+ * and every wall between two cells that are not yet connected is knocked down.
+ * <p>
+ * The shuffle gives every wall a random key and sorts the walls by key. Keys
+ * are drawn in blocks of {@link #BLOCK} walls, each from a generator of its
+ * own seeded from the given one, so that {@link ParallelKruskalGenerator} can
+ * draw them in parallel and still make exactly the same maze.
+ */
+public class KruskalGenerator implements MazeGenerator {
+
+	/** The number of walls whose keys come from one generator.			 */
+	public static final int BLOCK = 1 << 16;
+
+	/** Marks an entry that is no interior wall, and sorts after them all.	 */
+	static final long NO_WALL = Long.MAX_VALUE;
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		long[] seeds = seeds(grid, random);
+		long[] walls = new long[2 * grid.size()];
+		for(int block = 0; block < seeds.length; block++){
+			keys(grid, walls, seeds, block);
+		}
+		Arrays.sort(walls);
+
+		UnionFind sets = new UnionFind(grid.size());
+		for(int i = 0; i < walls.length && walls[i] != NO_WALL; i++){
+			int a = cell(walls[i]), b = neighbor(grid, walls[i]);
+			if(sets.union(a, b)){
+				grid.knockDownWall(a, b);
+				listener.setColor(a, Palette.WHITE);
+				listener.setColor(b, Palette.WHITE);
+				listener.step();
+			}
+		}
+	}
+
+	/** The seed of the keys of every block of walls.						 */
+	static long[] seeds(MazeGrid grid, RandomGenerator random){
+		if(grid.size() > Integer.MAX_VALUE / 2){
+			throw new IllegalArgumentException("Too many walls to sort: "
+					+ grid.getRows() + "x" + grid.getColumns());
+		}
+		long[] seeds = new long[(int)((2L * grid.size() + BLOCK - 1) / BLOCK)];
+		for(int i = 0; i < seeds.length; i++){
+			seeds[i] = random.nextLong();
+		}
+		return seeds;
+	}
+
+	/**
+	 * Fills in the walls of the block. Wall <code>2c</code> is the right wall
+	 * of cell c and <code>2c + 1</code> its bottom wall; each is stored as its
+	 * random key above its index, or as {@link #NO_WALL} if it is on the
+	 * border of the grid.
+	 */
+	static void keys(MazeGrid grid, long[] walls, long[] seeds, int block){
+		SplittableRandom random = new SplittableRandom(seeds[block]);
+		int size = grid.size(), columns = grid.getColumns();
+		int end = (int)Math.min((long)(block + 1) * BLOCK, walls.length);
+
+		for(int wall = block * BLOCK; wall < end; wall++){
+			int cell = wall >>> 1;
+			long key = random.nextInt() >>> 1;
+			boolean border = (wall & 1) == 0 ? cell % columns == columns - 1
+					: cell >= size - columns;
+			walls[wall] = border ? NO_WALL : key << 32 | wall;
+		}
+	}
+
+	/** The cell above or to the left of the wall.							 */
+	static int cell(long wall){
+		return (int)wall >>> 1;
+	}
+
+	/** The cell below or to the right of the wall.							 */
+	static int neighbor(MazeGrid grid, long wall){
+		return (wall & 1) == 0 ? cell(wall) + 1 : cell(wall) + grid.getColumns();
+	}
+
+	public String getName(){
+		return "Kruskal's";
+	}
+}
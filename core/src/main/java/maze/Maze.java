@@ -0,0 +1,409 @@
+package maze;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * A maze class. This is meant to be drawn on a component. When generate() is
+ * called, one of four algorithms will be selected at random to make the maze.
+ * When solve() is called, a path from the top left corner to the bottom right
+ * corner will be drawn or erased. Both run at full speed and record their steps
+ * in an {@link EventLog}, which is then animated on the grid with the delay
+ * that is set. A delay of 0 will stop any animations from occurring.
+ * 
+ * @author Warren Godone-Maresca
+ */
+public class Maze extends Grid {
+
+	/** Holds whether the solution has been drawn.							 */
+	private boolean solved;
+
+	/** Holds the delay of the animation.									 */
+	private int delay;
+
+	/**
+	 * The last maze finished. A maze is published here only once it is done
+	 * and is never changed again, so any thread may read it without a lock.
+	 * The walls on screen catch up with it as it animates.
+	 */
+	private volatile Snapshot published;
+
+	/** The steps taken to make and solve the current maze.					 */
+	private volatile EventLog log = new EventLog();
+
+	/** Holds whether the log has the steps that made the current maze.		 */
+	private volatile boolean animated;
+
+	/**
+	 * The most cells a maze may have to be animated. Larger mazes are shown
+	 * when they are done, as their logs would not fit in memory.
+	 */
+	public static final int ANIMATION_LIMIT = 1 << 18;
+
+	/** Animates the log on the grid.										 */
+	private final Playback playback;
+
+	/**
+	 * Holds the name of the method drawn on screen, which names the maze being
+	 * animated rather than the one published.
+	 */
+	private volatile String method = "";
+
+	/** The randomness of the current generation.							 */
+	private RandomGenerator random = new SplittableRandom();
+
+	/** Makes the seed of every maze generated by {@link #generate()}.		 */
+	private final SplittableRandom seeds = new SplittableRandom();
+
+	public Maze(int x, int y, int cellWidth, int rows, int columns, Component component){
+		this(x, y, cellWidth, rows, columns, component, 50);
+	}
+
+	public Maze(int x, int y, int cellWidth, int rows, int columns, 
+			Component component, int maxDelay){
+		super(x, y, cellWidth, rows, columns, component);
+		published = new Snapshot(new MazeGrid(rows, columns), 0, "");
+		playback = new Playback(this, 0);
+		setDelay(maxDelay);
+	}
+
+	public synchronized void generate(){
+		generate(seeds.nextLong());
+	}
+
+	/**
+	 * Generates the maze determined by the given seed. Both the algorithm and
+	 * the maze it makes are chosen from the seed.
+	 */
+	public synchronized void generate(long seed){
+		random = new SplittableRandom(seed);
+
+		solved = false;
+		double rand = random.nextDouble();
+		
+		generate(new RecursiveDivisionGenerator(), seed);
+		if(rand < 2){
+			return;
+		}
+		
+		if(rand < 0.05){ //Alduos-Broder isn't liked very much.
+			generate(new AldousBroderGenerator(), seed);
+		} else if(rand < 0.25){
+			generate(new PrimsGenerator(), seed);
+		} else if(rand < 0.50){
+			generate(new HuntAndKillGenerator(), seed);
+		} else if(rand < 0.75){
+			generate(new BacktrackerGenerator(), seed);
+			//knockDownRandomWalls();
+		} else {
+			generate(new RecursiveDivisionGenerator(), seed);
+		}
+	}
+
+	/**
+	 * Generates the maze with the given algorithm. The animation starts from
+	 * an empty grid at once and plays the steps as they are logged.
+	 */
+	private void generate(MazeGenerator generator, long seed){
+		method = generator.getName();
+		final EventLog events = new EventLog();
+		log = events;
+		animated = rows * columns <= ANIMATION_LIMIT;
+
+		//The maze is carved into a grid of its own, which no other thread
+		//sees until it is published.
+		MazeGrid back = new MazeGrid(rows, columns);
+		if(!animated){
+			MazeMetrics.generate(generator, back, random, StepListener.NONE);
+			publish(new Snapshot(back, seed, method), events);
+			return;
+		}
+
+		back.setWallListener(events);
+		SwingUtilities.invokeLater(new Runnable(){
+			public void run(){
+				makeGrid();
+				playback.play(events);
+			}
+		});
+
+		MazeMetrics.generate(generator, back, random, events);
+		back.setWallListener(null);
+		published = new Snapshot(back, seed, method);
+		resume();
+	}
+
+	/**
+	 * Publishes the finished maze and shows it at once, without animating it.
+	 * The playback moves on to the given log, so that steps logged later, such
+	 * as the solution, are shown.
+	 */
+	private void publish(final Snapshot maze, final EventLog events){
+		published = maze;
+		SwingUtilities.invokeLater(new Runnable(){
+			public void run(){
+				playback.stop();
+				show(maze.grid);
+				playback.play(events);
+			}
+		});
+	}
+
+	/**
+	 * Saves the walls, seed and algorithm of the last maze finished to the
+	 * given file. A maze being generated does not hold this up.
+	 */
+	public void save(Path path) throws IOException {
+		Snapshot maze = published;
+		MazeFile.save(path, maze.grid, maze.seed, maze.algorithm);
+	}
+
+	/**
+	 * Opens the maze saved in the given file, which must be the size of this
+	 * maze.
+	 */
+	public synchronized void load(MazeFile file){
+		MazeGrid back = new MazeGrid(rows, columns);
+		file.load(back);
+		random = new SplittableRandom(file.getSeed());
+		method = file.getAlgorithm();
+		solved = false;
+		animated = false;
+		//The solution is logged here, so the playback must follow this log.
+		EventLog events = new EventLog();
+		log = events;
+		publish(new Snapshot(back, file.getSeed(), method), events);
+	}
+
+	/**
+	 * Shows the given walls at once, without animating them. This must be
+	 * called on the event dispatch thread.
+	 */
+	private void show(MazeGrid grid){
+		walls.copyFrom(grid);
+		Arrays.fill(colors, Palette.WHITE);
+		renderer.markAllDirty();
+		repaintChanges();
+	}
+
+	/** Continues the animation with the steps logged since it caught up.	 */
+	private void resume(){
+		SwingUtilities.invokeLater(new Runnable(){
+			public void run(){
+				playback.resume();
+			}
+		});
+	}
+
+	/** A random cell of the grid.											 */
+	private int randomCell(){
+		return random.nextInt(rows*columns);
+	}
+
+	private void knockDownRandomWalls(){
+		int ln = (int)(random.nextDouble()*(Math.sqrt(rows * columns)));
+		//The colors on screen may lag behind, so the red cells are kept here.
+		BitSet red = new BitSet(rows * columns);
+		//Published walls never change, so they are changed in a copy.
+		Snapshot maze = published;
+		MazeGrid model = new MazeGrid(rows, columns);
+		model.copyFrom(maze.grid);
+		model.setWallListener(log);
+		for(int i = 0; i < ln; i++){
+			int cell = randomCell();
+
+			int walled = model.wallMask(cell);
+			if(Integer.bitCount(walled) > 1){
+				if(red.get(cell)){
+					continue;
+				}
+				
+				red.set(cell);
+				log.setColor(cell, Palette.RED);
+				log.step();
+				
+				int target = model.neighbor(cell, Integer.lowestOneBit(walled));
+				if(Integer.bitCount(model.wallMask(target)) > 1){
+					model.knockDownWall(cell, target);
+					red.set(target);
+					log.setColor(target, Palette.RED);
+				} else {
+					red.clear(cell);
+					log.setColor(cell, Palette.WHITE);
+				}
+			}
+			log.step();
+		}
+		model.setWallListener(null);
+		published = new Snapshot(model, maze.seed, maze.algorithm);
+		resume();
+	}
+
+	/**
+	 * Draws the path from the origin to the end, or erases it if it has
+	 * already been drawn.
+	 */
+	public void solve(){
+		solve(new BreadthFirstSolver());
+	}
+
+	/**
+	 * Draws the path from the origin to the end found by the given solver, or
+	 * erases the path if it has already been drawn.
+	 */
+	public synchronized void solve(MazeSolver solver){
+		int[] path = MazeMetrics.solve(solver, published.grid, origin, end,
+				StepListener.NONE);
+		if(path == null){
+			return;
+		}
+
+		solved = !solved;
+
+		for(int cell : path){
+			log.setColor(cell, solved ? Palette.ORANGE : Palette.WHITE);
+			if(solved){
+				log.step();
+			}
+		}
+		log.step();
+		resume();
+	}
+
+	@Override
+	public void draw(Graphics pane){
+		//Next we draw the method name.
+		Graphics2D g = (Graphics2D)pane;
+		g.setColor(Color.RED);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, 
+				RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+		g.setFont(new Font("default", Font.BOLD, 12));
+		FontMetrics fm = g.getFontMetrics();
+		Rectangle2D rect = fm.getStringBounds(method, g);
+
+		g.setColor(Color.BLACK);
+		g.fillRoundRect(10, component.getHeight() - fm.getAscent() - 5, 
+				(int)rect.getWidth() + 10, (int)rect.getHeight(), 2, 2);
+
+		g.setColor(Color.WHITE);
+		g.drawString(method, 15, component.getHeight() - 5);
+		
+		super.draw(pane);
+	}
+
+	/**
+	 * Plays the animation of the current maze again from an empty grid. This
+	 * must be called on the event dispatch thread.
+	 */
+	public void replay(){
+		if(!animated){
+			return;
+		}
+		makeGrid();
+		playback.play(log);
+	}
+
+	/**
+	 * Shows the end of the animation at once. This must be called on the
+	 * event dispatch thread.
+	 */
+	public void skipAnimation(){
+		playback.skip();
+	}
+
+	/**
+	 * Stops the animation where it is, e.g. before the maze is thrown away.
+	 * This must be called on the event dispatch thread.
+	 */
+	public void stopAnimation(){
+		playback.stop();
+	}
+
+	/**
+	 * Makes the rest of the animation, and the animation of every later maze,
+	 * take about the given time, however many steps it has. This must be
+	 * called on the event dispatch thread.
+	 */
+	public void setAnimationDuration(int millis){
+		playback.setDuration(millis);
+	}
+
+	/**
+	 * The walls of the last maze finished. The walls drawn on screen may
+	 * still be catching up with them. They are never changed, and must not be
+	 * changed by the caller.
+	 */
+	@Override
+	public MazeGrid getWalls(){
+		return published.grid;
+	}
+
+	/**
+	 * An index that answers path queries between any two cells of the last
+	 * maze finished. It is built on the first call after the maze is
+	 * generated.
+	 */
+	public PathIndex getPathIndex(){
+		return published.getPathIndex(origin);
+	}
+
+	/** The seed of the last maze finished.									 */
+	public long getSeed(){
+		return published.seed;
+	}
+
+	public int getOrigin(){
+		return origin;
+	}
+
+	public void setDelay(int delay){
+		this.delay = Math.max(delay, delay - (int)Math.log(rows * columns));//TODO
+		playback.setDelay(this.delay);
+	}
+
+	/**
+	 * A finished maze: its walls, the seed and algorithm that made them and
+	 * its path index. Its walls are published together with the seed and
+	 * algorithm, so a thread that reads them without a lock never sees the
+	 * walls of one maze with the seed of another.
+	 */
+	private static class Snapshot {
+
+		final MazeGrid grid;
+
+		final long seed;
+
+		final String algorithm;
+
+		/** The path index, built when first needed.						 */
+		private PathIndex pathIndex;
+
+		Snapshot(MazeGrid grid, long seed, String algorithm){
+			this.grid = grid;
+			this.seed = seed;
+			this.algorithm = algorithm;
+		}
+
+		synchronized PathIndex getPathIndex(int origin){
+			if(pathIndex == null){
+				pathIndex = new PathIndex(grid, origin);
+			}
+			return pathIndex;
+		}
+	}
+}
\ No newline at end of file
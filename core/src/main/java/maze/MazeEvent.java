@@ -0,0 +1,67 @@
+package maze;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event holding the {@link MazeMetrics} of one run of an algorithm.
+ * Events are disabled unless a recording enables them, e.g. with
+ * <code>-XX:StartFlightRecording</code>, and while disabled they cost nothing
+ * beyond a check that the JIT folds away.
+ */
+@Category("Maze")
+@StackTrace(false)
+abstract class MazeEvent extends Event {
+
+	@Label("Algorithm")
+	String algorithm;
+
+	@Label("Rows")
+	int rows;
+
+	@Label("Columns")
+	int columns;
+
+	@Label("Steps")
+	long steps;
+
+	@Label("Cells per Second")
+	double cellsPerSecond;
+
+	@Label("Peak Frontier")
+	@Description("The most cells waiting on the stack, queue or frontier at once")
+	int peakFrontier;
+
+	@Label("Backtracks")
+	long backtracks;
+
+	@Label("Allocated")
+	@Description("The bytes allocated by the thread that ran the algorithm")
+	@DataAmount
+	long allocated;
+
+	/** Copies the metrics into the event.									 */
+	void set(MazeMetrics metrics){
+		algorithm = metrics.getAlgorithm();
+		rows = metrics.getRows();
+		columns = metrics.getColumns();
+		steps = metrics.getSteps();
+		cellsPerSecond = metrics.getCellsPerSecond();
+		peakFrontier = metrics.getPeakFrontier();
+		backtracks = metrics.getBacktracks();
+		allocated = metrics.getAllocatedBytes();
+	}
+
+	@Name("maze.Generation")
+	@Label("Maze Generation")
+	static class Generation extends MazeEvent {}
+
+	@Name("maze.Solve")
+	@Label("Maze Solve")
+	static class Solve extends MazeEvent {}
+}
@@ -0,0 +1,327 @@
+package maze;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A maze saved in a file. The file is a little endian header followed by the
+ * walls in the same layout as {@link MazeGrid}: two bits per cell, 32 cells per
+ * long. The header is
+ * <pre>
+ *   int    magic, "MAZE"
+ *   short  version
+ *   short  length of the header, a multiple of 8
+ *   int    rows
+ *   int    columns
+ *   long   seed
+ *   short  length of the algorithm name
+ *   byte[] algorithm name in UTF-8, padded with zeros
+ * </pre>
+ * Files are read and written through memory maps. An open file answers wall
+ * queries and reads regions straight from the map, so a maze larger than the
+ * memory can still be drawn or solved a part at a time. A map holds at most
+ * 2GB, so the walls are mapped in windows of {@link #WINDOW} words, and cells
+ * of the file are numbered with longs.
+ */
+public class MazeFile implements Closeable {
+
+	public static final int MAGIC = 0x4D415A45, VERSION = 1;
+
+	/** The size of the header before the algorithm name.					 */
+	private static final int FIXED_HEADER = 4 + 2 + 2 + 4 + 4 + 8 + 2;
+
+	/** The number of words mapped by each window, 1GB of them.				 */
+	public static final int WINDOW = 1 << 27;
+
+	private final FileChannel channel;
+
+	/** The walls, two bits per cell, in windows of {@link #WINDOW} words.	 */
+	private final LongBuffer[] windows;
+
+	private final int rows, columns;
+
+	private final long seed;
+
+	private final String algorithm;
+
+	private MazeFile(FileChannel channel) throws IOException {
+		this.channel = channel;
+		ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+		channel.read(header, 0);
+		header.flip();
+		if(header.remaining() < FIXED_HEADER || header.getInt() != MAGIC){
+			throw new IOException("Not a maze file");
+		}
+		int version = header.getShort();
+		if(version != VERSION){
+			throw new IOException("Unsupported maze file version: " + version);
+		}
+		int headerLength = header.getShort() & 0xFFFF;
+		rows = header.getInt();
+		columns = header.getInt();
+		seed = header.getLong();
+		byte[] name = new byte[header.getShort() & 0xFFFF];
+		if(rows < 1 || columns < 1 || FIXED_HEADER + name.length > headerLength){
+			throw new IOException("Corrupt maze file header");
+		}
+		channel.read(ByteBuffer.wrap(name), FIXED_HEADER);
+		algorithm = new String(name, StandardCharsets.UTF_8);
+
+		long count = wordCount(rows, columns);
+		if(channel.size() < headerLength + count * 8){
+			throw new IOException("Maze file is truncated");
+		}
+		windows = new LongBuffer[(int)((count + WINDOW - 1) / WINDOW)];
+		for(int i = 0; i < windows.length; i++){
+			long first = (long)i * WINDOW;
+			MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY,
+					headerLength + first * 8, Math.min(count - first, WINDOW) * 8);
+			windows[i] = map.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+		}
+	}
+
+	/**
+	 * Opens the maze in the given file. Nothing but the header is read until
+	 * the walls are asked for.
+	 */
+	public static MazeFile open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new MazeFile(channel);
+		} catch(IOException | RuntimeException e){
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Saves the walls of the grid to the given file, along with the seed and
+	 * the name of the algorithm that made them.
+	 */
+	public static void save(Path path, MazeGrid grid, long seed, String algorithm)
+			throws IOException {
+		ByteBuffer header = header(grid.getRows(), grid.getColumns(), seed, algorithm);
+		long length = wordCount(grid.getRows(), grid.getColumns()) * 8L;
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)){
+			MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+					header.remaining() + length);
+			map.order(ByteOrder.LITTLE_ENDIAN);
+			map.put(header);
+			grid.writeWords(map.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+			map.force();
+		}
+	}
+
+	/** The header of a file holding a maze of the given size.			 */
+	private static ByteBuffer header(int rows, int columns, long seed, String algorithm){
+		byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+		if(name.length > 0xFFFF - FIXED_HEADER - 7){
+			throw new IllegalArgumentException("Algorithm name is too long");
+		}
+		int headerLength = (FIXED_HEADER + name.length + 7) & ~7;
+
+		ByteBuffer header = ByteBuffer.allocate(headerLength).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putShort((short)VERSION).putShort((short)headerLength);
+		header.putInt(rows).putInt(columns).putLong(seed);
+		header.putShort((short)name.length).put(name);
+		header.clear();
+		return header;
+	}
+
+	/**
+	 * Starts a file for a maze that is written a row at a time, e.g. by
+	 * {@link EllersGenerator#stream}. Only a buffer of the file is kept in
+	 * memory, so the maze may have any number of rows.
+	 */
+	public static Writer create(Path path, int rows, int columns, long seed,
+			String algorithm) throws IOException {
+		if(rows < 1 || columns < 1){
+			throw new IllegalArgumentException("Invalid grid size: " + rows
+					+ "x" + columns);
+		}
+		return new Writer(path, header(rows, columns, seed, algorithm), rows,
+				columns);
+	}
+
+	/**
+	 * Writes the rows of a maze to a file as they come. The file is complete
+	 * once every row has been written and the writer is closed.
+	 */
+	public static class Writer implements RowSink, Closeable {
+
+		private final FileChannel channel;
+
+		/** The bytes waiting to be written.								 */
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16)
+				.order(ByteOrder.LITTLE_ENDIAN);
+
+		/** The cells not yet written, packed into a word.				 */
+		private long word;
+
+		/** The number of bits used in the word.							 */
+		private int bits;
+
+		/** The number of cells still to be written.						 */
+		private long remaining;
+
+		private final int columns;
+
+		private Writer(Path path, ByteBuffer header, int rows, int columns)
+				throws IOException {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			remaining = (long)rows * columns;
+			this.columns = columns;
+			while(header.hasRemaining()){
+				channel.write(header);
+			}
+		}
+
+		public void row(int row, byte[] walls) throws IOException {
+			if(walls.length != columns){
+				throw new IllegalArgumentException("A row of " + walls.length
+						+ " cells in a maze of " + columns + " columns");
+			}
+			if(walls.length > remaining){
+				throw new IllegalStateException("More rows than the maze has");
+			}
+			for(byte cell : walls){
+				word |= (long)(cell & 3) << bits;
+				bits += 2;
+				if(bits == 64){
+					put();
+				}
+			}
+			remaining -= walls.length;
+		}
+
+		private void put() throws IOException {
+			if(!buffer.hasRemaining()){
+				flush();
+			}
+			buffer.putLong(word);
+			word = 0;
+			bits = 0;
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while(buffer.hasRemaining()){
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		public void close() throws IOException {
+			try {
+				if(remaining > 0){
+					throw new IOException(remaining + " cells were never written");
+				}
+				if(bits > 0){
+					put();
+				}
+				flush();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+
+	/** The number of longs holding the walls of a grid of the given size.	 */
+	private static long wordCount(int rows, int columns){
+		return ((long)rows * columns + 31) >>> 5;
+	}
+
+	public int getRows(){
+		return rows;
+	}
+
+	public int getColumns(){
+		return columns;
+	}
+
+	public long getSeed(){
+		return seed;
+	}
+
+	public String getAlgorithm(){
+		return algorithm;
+	}
+
+	/**
+	 * Reads every wall into a new grid.
+	 */
+	public MazeGrid load(){
+		MazeGrid grid = new MazeGrid(rows, columns);
+		load(grid);
+		return grid;
+	}
+
+	/**
+	 * Reads every wall into the given grid, which must be the size of the
+	 * maze in the file. A grid has fewer cells than a window holds words, so
+	 * the walls are all in the first window.
+	 */
+	public void load(MazeGrid grid){
+		if(grid.getRows() != rows || grid.getColumns() != columns){
+			throw new IllegalArgumentException("The maze in the file is "
+					+ rows + "x" + columns);
+		}
+		grid.readWords(windows[0].duplicate());
+	}
+
+	private boolean bit(long cell, int bit){
+		long word = cell >>> 5;
+		return (windows[(int)(word / WINDOW)].get((int)(word % WINDOW))
+				>>> ((cell & 31) << 1) & bit) != 0;
+	}
+
+	public boolean hasRightWall(long cell){
+		return cell % columns == columns - 1 || bit(cell, 1);
+	}
+
+	public boolean hasBottomWall(long cell){
+		return cell >= (long)rows * columns - columns || bit(cell, 2);
+	}
+
+	/**
+	 * Reads the walls of a rectangle of cells into a new grid. Walls between
+	 * the region and the rest of the maze become the border of the grid.
+	 */
+	public MazeGrid region(int top, int left, int height, int width){
+		if(top < 0 || left < 0 || height < 1 || width < 1
+				|| top + height > rows || left + width > columns){
+			throw new IndexOutOfBoundsException("Region outside the maze: " + top
+					+ ", " + left + ", " + height + "x" + width);
+		}
+		MazeGrid grid = new MazeGrid(height, width);
+		for(int row = 0; row < height; row++){
+			long cell = (long)(top + row)*columns + left;
+			for(int column = 0; column < width; column++, cell++){
+				int inner = row*width + column;
+				if(column < width - 1 && !bit(cell, 1)){
+					grid.knockDownWall(inner, inner + 1);
+				}
+				if(row < height - 1 && !bit(cell, 2)){
+					grid.knockDownWall(inner, inner + width);
+				}
+			}
+		}
+		return grid;
+	}
+
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,62 @@
+package maze;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * An algorithm that carves a maze into a {@link MazeGrid}. Generators have no
+ * dependency on AWT, so they can run headless at full speed; a
+ * {@link StepListener} may be given to visualize their progress.
+ * <p>
+ * All randomness comes from the given {@link RandomGenerator}, so the same
+ * seed always carves the same maze. Generators keep no state of their own;
+ * to generate on several threads, give each thread its own stream, e.g. by
+ * splitting a {@link SplittableRandom}.
+ */
+public interface MazeGenerator {
+
+	/**
+	 * Carves a maze into the grid, replacing any walls it already had.
+	 */
+	void generate(MazeGrid grid, RandomGenerator random, StepListener listener);
+
+	/**
+	 * Carves a maze into the grid without reporting any steps.
+	 */
+	default void generate(MazeGrid grid, RandomGenerator random){
+		generate(grid, random, StepListener.NONE);
+	}
+
+	/**
+	 * Carves the maze determined by the given seed into the grid.
+	 */
+	default void generate(MazeGrid grid, long seed){
+		generate(grid, new SplittableRandom(seed), StepListener.NONE);
+	}
+
+	/**
+	 * A generator that can be split into independent streams for parallel
+	 * tasks. If <code>random</code> cannot be split, a new splittable
+	 * generator is seeded from it.
+	 */
+	static RandomGenerator.SplittableGenerator splittable(RandomGenerator random){
+		if(random instanceof RandomGenerator.SplittableGenerator){
+			return (RandomGenerator.SplittableGenerator)random;
+		}
+		return new SplittableRandom(random.nextLong());
+	}
+
+	/**
+	 * Holds whether a parallel generator must carve on one thread. The steps
+	 * of a parallel generation cannot be animated, and the wall listener of
+	 * the grid takes changes from one thread only, so parallel generators
+	 * carve in order whenever the steps are animated or a wall listener is
+	 * given.
+	 */
+	static boolean isSequential(MazeGrid grid, StepListener listener){
+		return listener.isAnimated() || grid.getWallListener() != null;
+	}
+
+	/** The name of the algorithm.											 */
+	String getName();
+}
@@ -0,0 +1,443 @@
+package maze;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * The walls of a rectangular maze, stored as a packed bitset. Every cell owns
+ * only its right and bottom walls, so each cell takes exactly two bits; the top
+ * and left walls of a cell are the bottom and right walls of its neighbors.
+ * Cells are indexed by <code>row*columns + column</code>. Walls on the border
+ * of the grid are implicit and can never be knocked down.
+ */
+public class MazeGrid {
+
+	/**
+	 * The directions of a cell. A set of directions is a mask made by or-ing
+	 * these bits together.
+	 */
+	public static final int TOP = 1, RIGHT = 2, BOTTOM = 4, LEFT = 8;
+
+	/** The bits of a cell that hold its right and bottom walls.			 */
+	private static final long RIGHT_BIT = 1, BOTTOM_BIT = 2;
+
+	/** The bottom bits of every cell of a word.							 */
+	private static final long BOTTOM_BITS = 0xAAAAAAAAAAAAAAAAL;
+
+	protected final int rows, columns;
+
+	/** Two bits per cell, 32 cells per word.								 */
+	private final long[] walls;
+
+	/** Counts the changes to the walls.									 */
+	private int modCount;
+
+	/** Notified of every change to the walls, or null.					 */
+	private WallListener wallListener;
+
+	/** Atomic access to the words of walls.								 */
+	private static final VarHandle WORDS =
+			MethodHandles.arrayElementVarHandle(long[].class);
+
+	/**
+	 * Makes a grid of the given size in which every wall is raised.
+	 */
+	public MazeGrid(int rows, int columns){
+		if(rows < 1 || columns < 1 || (long)rows * columns > Integer.MAX_VALUE){
+			throw new IllegalArgumentException("Invalid grid size: " + rows
+					+ "x" + columns);
+		}
+		this.rows = rows;
+		this.columns = columns;
+		walls = new long[(int)(((long)rows * columns + 31) >>> 5)];
+		raiseAllWalls();
+	}
+
+	public int getRows(){
+		return rows;
+	}
+
+	public int getColumns(){
+		return columns;
+	}
+
+	/** The number of cells in the grid.									 */
+	public int size(){
+		return rows * columns;
+	}
+
+	public int index(int row, int column){
+		return row * columns + column;
+	}
+
+	public int row(int cell){
+		return cell / columns;
+	}
+
+	public int column(int cell){
+		return cell % columns;
+	}
+
+	private boolean bit(int cell, long bit){
+		return (walls[cell >>> 5] & (bit << ((cell & 31) << 1))) != 0;
+	}
+
+	private void setBit(int cell, long bit, boolean value, boolean atomic){
+		long mask = bit << ((cell & 31) << 1);
+		if(atomic){
+			if(value){
+				WORDS.getAndBitwiseOr(walls, cell >>> 5, mask);
+			} else {
+				WORDS.getAndBitwiseAnd(walls, cell >>> 5, ~mask);
+			}
+		} else if(value){
+			walls[cell >>> 5] |= mask;
+		} else {
+			walls[cell >>> 5] &= ~mask;
+		}
+	}
+
+	public boolean hasRightWall(int cell){
+		return column(cell) == columns - 1 || bit(cell, RIGHT_BIT);
+	}
+
+	public boolean hasBottomWall(int cell){
+		return cell >= size() - columns || bit(cell, BOTTOM_BIT);
+	}
+
+	public boolean hasLeftWall(int cell){
+		return column(cell) == 0 || bit(cell - 1, RIGHT_BIT);
+	}
+
+	public boolean hasTopWall(int cell){
+		return cell < columns || bit(cell - columns, BOTTOM_BIT);
+	}
+
+	/**
+	 * Holds whether the two cells share a wall, i.e. whether there could be an
+	 * edge between them.
+	 */
+	public boolean isAdjacent(int a, int b){
+		if(a > b){
+			int temp = a;
+			a = b;
+			b = temp;
+		}
+		return (b == a + 1 && column(b) != 0) || b == a + columns;
+	}
+
+	/**
+	 * Holds whether the wall between the two cells is raised. Cells that are
+	 * not adjacent are always separated by a wall.
+	 */
+	public boolean hasWall(int a, int b){
+		if(a > b){
+			int temp = a;
+			a = b;
+			b = temp;
+		}
+		if(b == a + 1 && column(b) != 0){
+			return bit(a, RIGHT_BIT);
+		} else if(b == a + columns){
+			return bit(a, BOTTOM_BIT);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the wall between the two cells. Nothing happens if they are not
+	 * adjacent.
+	 */
+	public void knockDownWall(int a, int b){
+		setWall(a, b, false, false);
+	}
+
+	/**
+	 * Raises the wall between the two cells. Nothing happens if they are not
+	 * adjacent.
+	 */
+	public void raiseWall(int a, int b){
+		setWall(a, b, true, false);
+	}
+
+	/**
+	 * Removes the wall between the two cells with an atomic update, so that
+	 * other threads may change other walls at the same time. Atomic changes
+	 * are not counted by {@link #getModCount()}; whoever makes them counts
+	 * them once they are all done, with {@link #countChange()}.
+	 */
+	public void knockDownWallAtomically(int a, int b){
+		setWall(a, b, false, true);
+	}
+
+	/**
+	 * Raises the wall between the two cells with an atomic update, so that
+	 * other threads may change other walls at the same time. As with
+	 * {@link #knockDownWallAtomically(int, int)}, the change is not counted.
+	 */
+	public void raiseWallAtomically(int a, int b){
+		setWall(a, b, true, true);
+	}
+
+	private void setWall(int a, int b, boolean raised, boolean atomic){
+		if(a > b){
+			int temp = a;
+			a = b;
+			b = temp;
+		}
+		if(b == a + 1 && column(b) != 0){
+			setBit(a, RIGHT_BIT, raised, atomic);
+		} else if(b == a + columns){
+			setBit(a, BOTTOM_BIT, raised, atomic);
+		} else {
+			return;
+		}
+		if(!atomic){
+			modCount++;
+		}
+		if(wallListener != null){
+			wallListener.wallChanged(a, b, raised);
+		}
+	}
+
+	public void raiseAllWalls(){
+		Arrays.fill(walls, -1L);
+		modCount++;
+		if(wallListener != null){
+			wallListener.allWallsChanged(true);
+		}
+	}
+
+	public void knockDownAllWalls(){
+		Arrays.fill(walls, 0L);
+		modCount++;
+		if(wallListener != null){
+			wallListener.allWallsChanged(false);
+		}
+	}
+
+	/**
+	 * Makes the walls the same as those of the given grid, which must have
+	 * the same size. The listener is not notified, so whoever copies the
+	 * walls must redraw them.
+	 */
+	public void copyFrom(MazeGrid grid){
+		if(grid.rows != rows || grid.columns != columns){
+			throw new IllegalArgumentException("Grids differ in size: " + grid.rows
+					+ "x" + grid.columns);
+		}
+		System.arraycopy(grid.walls, 0, walls, 0, walls.length);
+		modCount++;
+	}
+
+	/**
+	 * Copies the walls of the given grid into the rectangle of this grid whose
+	 * top left cell is at the given row and column, raising the walls along
+	 * the right and bottom of the rectangle. Words shared with cells outside
+	 * the rectangle are updated atomically, so that other threads may paste
+	 * other rectangles at the same time. The listener is not notified, and as
+	 * with the atomic wall updates the change is not counted.
+	 */
+	public void paste(MazeGrid part, int top, int left){
+		if(top < 0 || left < 0 || top + part.rows > rows || left + part.columns > columns){
+			throw new IndexOutOfBoundsException("Does not fit at " + top + ", " + left
+					+ ": " + part.rows + "x" + part.columns);
+		}
+		//Cell c takes bits 2c and 2c + 1 of the grid, counting across words.
+		long length = 2L * part.columns;
+		for(int row = 0; row < part.rows; row++){
+			long from = 2L * row * part.columns;
+			long start = 2L * index(top + row, left), end = start + length;
+			for(long bit = start; bit < end; bit = (bit | 63) + 1){
+				int word = (int)(bit >>> 6);
+				long bits = part.bitsAt(from + bit - start) << (bit & 63);
+				//The bits of the border of the part may have been cleared.
+				if(row == part.rows - 1){
+					bits |= BOTTOM_BITS;
+				}
+				if(end - 2 >>> 6 == word){
+					bits |= RIGHT_BIT << (end - 2 & 63);
+				}
+				long mask = -1L << (bit & 63);
+				if(end < (bit | 63) + 1){
+					mask &= -1L >>> (64 - (end & 63));
+				}
+				if(mask == -1L){
+					walls[word] = bits;
+				} else {
+					long old;
+					do {
+						old = (long)WORDS.getVolatile(walls, word);
+					} while(!WORDS.compareAndSet(walls, word, old, (old & ~mask) | (bits & mask)));
+				}
+			}
+		}
+	}
+
+	/** The 64 bits of the walls starting at the given bit.				 */
+	private long bitsAt(long bit){
+		int word = (int)(bit >>> 6), shift = (int)(bit & 63);
+		long bits = walls[word] >>> shift;
+		if(shift != 0 && word + 1 < walls.length){
+			bits |= walls[word + 1] << (64 - shift);
+		}
+		return bits;
+	}
+
+	/**
+	 * Writes the walls to the buffer, 32 cells per long, as they are stored.
+	 */
+	public void writeWords(LongBuffer out){
+		out.put(walls);
+	}
+
+	/**
+	 * Reads the walls from the buffer, in the layout written by
+	 * {@link #writeWords(LongBuffer)}. As with {@link #copyFrom(MazeGrid)}, the
+	 * listener is not notified.
+	 */
+	public void readWords(LongBuffer in){
+		in.get(walls);
+		modCount++;
+	}
+
+	/**
+	 * The number of times the walls have changed. Anything computed from the
+	 * walls is up to date for as long as this stays the same.
+	 */
+	public int getModCount(){
+		return modCount;
+	}
+
+	/**
+	 * Counts the changes made by atomic updates, once the threads that made
+	 * them are done.
+	 */
+	void countChange(){
+		modCount++;
+	}
+
+	/**
+	 * Sets the listener notified of every change to the walls. It is called
+	 * on the thread that changed the walls.
+	 *
+	 * @param listener The listener, or null to remove it.
+	 */
+	public void setWallListener(WallListener listener){
+		wallListener = listener;
+	}
+
+	public WallListener getWallListener(){
+		return wallListener;
+	}
+
+	/**
+	 * Receives the changes to the walls of a {@link MazeGrid}.
+	 */
+	public interface WallListener {
+
+		/**
+		 * Called when the wall between the two adjacent cells is raised or
+		 * knocked down.
+		 */
+		void wallChanged(int a, int b, boolean raised);
+
+		/**
+		 * Called when every wall is raised or knocked down at once.
+		 */
+		void allWallsChanged(boolean raised);
+	}
+
+	/**
+	 * The directions in which the cell has a neighbor.
+	 */
+	public int neighborMask(int cell){
+		int column = column(cell), mask = 0;
+
+		if(cell >= columns)
+			mask |= TOP;
+		if(column < columns - 1)
+			mask |= RIGHT;
+		if(cell < size() - columns)
+			mask |= BOTTOM;
+		if(column > 0)
+			mask |= LEFT;
+
+		return mask;
+	}
+
+	/**
+	 * The directions in which the cell has a neighbor behind a raised wall.
+	 */
+	public int wallMask(int cell){
+		int column = column(cell), mask = 0;
+
+		if(cell >= columns && bit(cell - columns, BOTTOM_BIT))
+			mask |= TOP;
+		if(column < columns - 1 && bit(cell, RIGHT_BIT))
+			mask |= RIGHT;
+		if(cell < size() - columns && bit(cell, BOTTOM_BIT))
+			mask |= BOTTOM;
+		if(column > 0 && bit(cell - 1, RIGHT_BIT))
+			mask |= LEFT;
+
+		return mask;
+	}
+
+	/**
+	 * The directions in which the cell has a neighbor that it can move to,
+	 * i.e. whose wall has been knocked down.
+	 */
+	public int passageMask(int cell){
+		return neighborMask(cell) & ~wallMask(cell);
+	}
+
+	/**
+	 * The cell next to the given cell in the given direction. The direction
+	 * is not checked against the border of the grid.
+	 */
+	public int neighbor(int cell, int direction){
+		switch(direction){
+		case TOP:
+			return cell - columns;
+		case RIGHT:
+			return cell + 1;
+		case BOTTOM:
+			return cell + columns;
+		case LEFT:
+			return cell - 1;
+		default:
+			throw new IllegalArgumentException("Not a direction: " + direction);
+		}
+	}
+
+	/**
+	 * The directions of <code>mask</code> in which the neighbor of the cell is
+	 * in the given set.
+	 */
+	public int maskIn(int cell, int mask, BitSet cells){
+		int result = 0;
+		for(int m = mask; m != 0; m &= m - 1){
+			int direction = Integer.lowestOneBit(m);
+			if(cells.get(neighbor(cell, direction))){
+				result |= direction;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * A uniformly chosen direction of a nonempty mask.
+	 */
+	public static int randomDirection(RandomGenerator random, int mask){
+		//Clears a random number of the lowest set bits.
+		for(int k = random.nextInt(Integer.bitCount(mask)); k > 0; k--){
+			mask &= mask - 1;
+		}
+		return Integer.lowestOneBit(mask);
+	}
+}
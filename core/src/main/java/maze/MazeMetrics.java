@@ -0,0 +1,221 @@
+package maze;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Measures one run of a generator or solver: its wall-clock time, steps,
+ * cells per second, the peak size of its stack, queue or frontier, its
+ * backtracks and the bytes it allocated. The metrics are a listener that
+ * counts what the algorithm reports and passes everything on to another
+ * listener, so a run can be measured and animated at once.
+ * <p>
+ * The counts are thread-safe, and the metrics are only animated if the other
+ * listener is, so a parallel generator measured without animation still runs
+ * in parallel. It reports the steps its tasks report, which may be fewer than
+ * those of its sequential version; the allocated bytes are those of the
+ * measuring thread alone.
+ * <p>
+ * {@link #generate} and {@link #solve} run an algorithm with metrics only
+ * while a JFR recording has enabled {@link MazeEvent}s, and commit them as an
+ * event; otherwise the algorithm runs with the given listener alone.
+ */
+public class MazeMetrics implements StepListener {
+
+	private final String algorithm;
+
+	private final int rows, columns;
+
+	private final StepListener listener;
+
+	/** The time and allocated bytes of the thread when the run started.	 */
+	private long startTime, startAllocated;
+
+	private long nanos, allocated = -1;
+
+	private final LongAdder steps = new LongAdder(), backtracks = new LongAdder();
+
+	private final AtomicInteger peakFrontier = new AtomicInteger();
+
+	/**
+	 * @param listener Receives every step of the algorithm as well.
+	 */
+	public MazeMetrics(String algorithm, MazeGrid grid, StepListener listener){
+		this.algorithm = algorithm;
+		rows = grid.getRows();
+		columns = grid.getColumns();
+		this.listener = listener;
+	}
+
+	/**
+	 * Generates a maze, recording its metrics as an event if a recording
+	 * has enabled them.
+	 */
+	public static void generate(MazeGenerator generator, MazeGrid grid,
+			RandomGenerator random, StepListener listener){
+		MazeEvent event = new MazeEvent.Generation();
+		if(!event.isEnabled()){
+			generator.generate(grid, random, listener);
+			return;
+		}
+
+		MazeMetrics metrics = new MazeMetrics(generator.getName(), grid, listener);
+		event.begin();
+		metrics.start();
+		generator.generate(grid, random, metrics);
+		metrics.stop();
+		metrics.commit(event);
+	}
+
+	/**
+	 * Solves a maze, recording its metrics as an event if a recording has
+	 * enabled them.
+	 */
+	public static int[] solve(MazeSolver solver, MazeGrid grid, int start,
+			int goal, StepListener listener){
+		MazeEvent event = new MazeEvent.Solve();
+		if(!event.isEnabled()){
+			return solver.solve(grid, start, goal, listener);
+		}
+
+		MazeMetrics metrics = new MazeMetrics(solver.getName(), grid, listener);
+		event.begin();
+		metrics.start();
+		int[] path = solver.solve(grid, start, goal, metrics);
+		metrics.stop();
+		metrics.commit(event);
+		return path;
+	}
+
+	private void commit(MazeEvent event){
+		event.end();
+		if(event.shouldCommit()){
+			event.set(this);
+			event.commit();
+		}
+	}
+
+	/** Starts measuring on this thread, before the algorithm runs.			 */
+	public void start(){
+		startAllocated = allocatedBytes();
+		startTime = System.nanoTime();
+	}
+
+	/** Stops measuring, on the thread that called {@link #start()}.		 */
+	public void stop(){
+		nanos = System.nanoTime() - startTime;
+		long now = allocatedBytes();
+		allocated = now < 0 || startAllocated < 0 ? -1 : now - startAllocated;
+	}
+
+	public void setColor(int cell, byte color){
+		listener.setColor(cell, color);
+	}
+
+	public void step(){
+		steps.increment();
+		listener.step();
+	}
+
+	public void frontier(int size){
+		int peak = peakFrontier.get();
+		while(size > peak && !peakFrontier.compareAndSet(peak, size)){
+			peak = peakFrontier.get();
+		}
+		listener.frontier(size);
+	}
+
+	public void backtrack(){
+		backtracks.increment();
+		listener.backtrack();
+	}
+
+	public boolean isAnimated(){
+		return listener.isAnimated();
+	}
+
+	public String getAlgorithm(){
+		return algorithm;
+	}
+
+	public int getRows(){
+		return rows;
+	}
+
+	public int getColumns(){
+		return columns;
+	}
+
+	/** The wall-clock time between start and stop.						 */
+	public long getNanos(){
+		return nanos;
+	}
+
+	public long getSteps(){
+		return steps.sum();
+	}
+
+	/** The cells of the grid divided by the seconds the run took.			 */
+	public double getCellsPerSecond(){
+		return nanos == 0 ? 0 : (double)rows * columns * 1e9 / nanos;
+	}
+
+	/** The most cells waiting on the stack, queue or frontier at once.		 */
+	public int getPeakFrontier(){
+		return peakFrontier.get();
+	}
+
+	public long getBacktracks(){
+		return backtracks.sum();
+	}
+
+	/**
+	 * The bytes allocated by the measuring thread during the run, or -1 if
+	 * the VM does not count them.
+	 */
+	public long getAllocatedBytes(){
+		return allocated;
+	}
+
+	@Override
+	public String toString(){
+		return algorithm + " on " + rows + "x" + columns + ": "
+				+ nanos / 1000000 + " ms, " + getSteps() + " steps, "
+				+ (long)getCellsPerSecond() + " cells/s, peak frontier "
+				+ getPeakFrontier() + ", " + getBacktracks() + " backtracks, "
+				+ allocated + " bytes";
+	}
+
+	/** The bytes allocated so far by this thread, or -1 if unknown.		 */
+	private static long allocatedBytes(){
+		com.sun.management.ThreadMXBean threads = Threads.THREADS;
+		if(threads == null || !threads.isThreadAllocatedMemoryEnabled()){
+			return -1;
+		}
+		return threads.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Holds the threads of the VM, which are only looked up once something
+	 * is measured.
+	 */
+	private static class Threads {
+
+		/** The threads, if they can count their allocations.				 */
+		static final com.sun.management.ThreadMXBean THREADS = threads();
+	}
+
+	private static com.sun.management.ThreadMXBean threads(){
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if(threads instanceof com.sun.management.ThreadMXBean){
+			com.sun.management.ThreadMXBean counting = (com.sun.management.ThreadMXBean)threads;
+			if(counting.isThreadAllocatedMemorySupported()){
+				return counting;
+			}
+		}
+		return null;
+	}
+}
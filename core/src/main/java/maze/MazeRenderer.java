@@ -0,0 +1,216 @@
+package maze;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+
+/**
+ * Keeps a drawing of a maze in a {@link BufferedImage}. Cells are marked dirty
+ * when their color or walls change, and only dirty cells are drawn again
+ * before the image is copied to the screen, so the cost of a frame depends on
+ * the number of changed cells rather than on the size of the maze.
+ * <p>
+ * The renderer also keeps the bounds of the cells changed since they were
+ * last taken, so that only that part of the component needs to be repainted,
+ * and it copies only the part of the image inside the clip.
+ */
+public class MazeRenderer implements MazeGrid.WallListener {
+
+	private final MazeGrid walls;
+
+	/** The color of every cell, as one of the {@link Palette} codes.		 */
+	private final byte[] colors;
+
+	/** The position of the top left corner of the maze and the cell width.	 */
+	private final int x, y, width;
+
+	/** The merged walls, used when every cell is drawn again.				 */
+	private final WallGeometry geometry;
+
+	private BufferedImage image;
+
+	/** The cells that changed since the last frame.						 */
+	private final BitSet dirty;
+
+	/** The cells that are filled and outlined in the next frame.			 */
+	private final BitSet filled, outlined;
+
+	/**
+	 * The rows and columns bounding the cells that changed since the last
+	 * call to {@link #takeDirtyBounds()}. The box is empty if top > bottom.
+	 */
+	private int top, bottom = -1, left, right;
+
+	public MazeRenderer(MazeGrid walls, byte[] colors, int x, int y, int width){
+		this.walls = walls;
+		this.colors = colors;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		geometry = new WallGeometry(walls, x, y, width);
+		dirty = new BitSet(walls.size());
+		filled = new BitSet(walls.size());
+		outlined = new BitSet(walls.size());
+		dirty.set(0, walls.size());
+		walls.setWallListener(this);
+	}
+
+	/** Marks the cell to be drawn again in the next frame.					 */
+	public synchronized void markDirty(int cell){
+		dirty.set(cell);
+		include(walls.row(cell), walls.column(cell));
+	}
+
+	/** Marks every cell to be drawn again in the next frame.				 */
+	public synchronized void markAllDirty(){
+		dirty.set(0, walls.size());
+		include(0, 0);
+		include(walls.getRows() - 1, walls.getColumns() - 1);
+	}
+
+	public synchronized void wallChanged(int a, int b, boolean raised){
+		markDirty(a);
+		markDirty(b);
+	}
+
+	/** Grows the dirty bounds to include the given cell.					 */
+	private void include(int row, int column){
+		if(top > bottom){
+			top = bottom = row;
+			left = right = column;
+		} else {
+			top = Math.min(top, row);
+			bottom = Math.max(bottom, row);
+			left = Math.min(left, column);
+			right = Math.max(right, column);
+		}
+	}
+
+	/**
+	 * The pixels that may have changed since the last call, i.e. the bounds
+	 * of the changed cells along with the walls around them.
+	 *
+	 * @return null if no cell has changed.
+	 */
+	public synchronized Rectangle takeDirtyBounds(){
+		if(top > bottom){
+			return null;
+		}
+
+		//The dirty cells are drawn along with their neighbors.
+		int rows = walls.getRows(), columns = walls.getColumns();
+		int x0 = x + (Math.max(left - 1, 0))*width - width/2;
+		int y0 = y + (Math.max(top - 1, 0))*width - width/2;
+		int x1 = x + (Math.min(right + 2, columns))*width + width/2;
+		int y1 = y + (Math.min(bottom + 2, rows))*width + width/2;
+
+		top = 0;
+		bottom = -1;
+		return new Rectangle(x0, y0, x1 - x0, y1 - y0);
+	}
+
+	public void allWallsChanged(boolean raised){
+		markAllDirty();
+	}
+
+	/**
+	 * Draws the dirty cells into the image and copies the image to the given
+	 * graphics.
+	 */
+	public synchronized void render(Graphics pane){
+		if(image == null){
+			//The walls on the right and bottom borders stick out of the grid.
+			image = new BufferedImage(x + (walls.getColumns() + 1)*width,
+					y + (walls.getRows() + 1)*width, BufferedImage.TYPE_INT_ARGB);
+		}
+
+		if(dirty.cardinality() == walls.size()){
+			Graphics2D g = image.createGraphics();
+
+			for(int cell = 0; cell < walls.size(); cell++){
+				g.setColor(Palette.get(colors[cell]));
+				g.fillRect(x + walls.column(cell)*width, y + walls.row(cell)*width,
+						width, width);
+			}
+
+			g.setColor(Color.BLACK);
+			geometry.fill(g);
+			g.dispose();
+
+			dirty.clear();
+		} else if(!dirty.isEmpty()){
+			Graphics2D g = image.createGraphics();
+
+			//The ends of a wall stick into the cells around it, so the
+			//neighbors of a dirty cell are filled again to erase walls that
+			//were knocked down, and the walls of their neighbors are drawn
+			//again over the fill.
+			spread(dirty, filled);
+			spread(filled, outlined);
+
+			for(int cell = filled.nextSetBit(0); cell >= 0; cell = filled.nextSetBit(cell + 1)){
+				g.setColor(Palette.get(colors[cell]));
+				g.fillRect(x + walls.column(cell)*width, y + walls.row(cell)*width,
+						width, width);
+			}
+
+			g.setColor(Color.BLACK);
+			for(int cell = outlined.nextSetBit(0); cell >= 0; cell = outlined.nextSetBit(cell + 1)){
+				drawOutline(g, cell);
+			}
+			g.dispose();
+
+			dirty.clear();
+			filled.clear();
+			outlined.clear();
+		}
+
+		//Only the part of the image inside the clip is copied.
+		Rectangle clip = pane.getClipBounds();
+		if(clip == null){
+			pane.drawImage(image, 0, 0, null);
+		} else {
+			clip = clip.intersection(new Rectangle(image.getWidth(), image.getHeight()));
+			if(!clip.isEmpty()){
+				int x1 = clip.x + clip.width, y1 = clip.y + clip.height;
+				pane.drawImage(image, clip.x, clip.y, x1, y1, clip.x, clip.y, x1, y1, null);
+			}
+		}
+	}
+
+	/**
+	 * Adds every cell of <code>from</code> and its eight neighbors to
+	 * <code>to</code>.
+	 */
+	private void spread(BitSet from, BitSet to){
+		int rows = walls.getRows(), columns = walls.getColumns();
+
+		for(int cell = from.nextSetBit(0); cell >= 0; cell = from.nextSetBit(cell + 1)){
+			int row = walls.row(cell), column = walls.column(cell);
+			int left = Math.max(column - 1, 0), right = Math.min(column + 1, columns - 1);
+			for(int i = Math.max(row - 1, 0); i <= Math.min(row + 1, rows - 1); i++){
+				to.set(i*columns + left, i*columns + right + 1);
+			}
+		}
+	}
+
+	private void drawOutline(Graphics2D g, int cell){
+		int row = walls.row(cell), column = walls.column(cell);
+
+		if(walls.hasTopWall(cell)){
+			geometry.fillSegment(g, true, row, column, column + 1);
+		}
+		if(walls.hasRightWall(cell)){
+			geometry.fillSegment(g, false, column + 1, row, row + 1);
+		}
+		if(walls.hasBottomWall(cell)){
+			geometry.fillSegment(g, true, row + 1, column, column + 1);
+		}
+		if(walls.hasLeftWall(cell)){
+			geometry.fillSegment(g, false, column, row, row + 1);
+		}
+	}
+}
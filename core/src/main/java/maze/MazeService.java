@@ -0,0 +1,266 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates batches of mazes on a fixed pool of threads. A batch asks for a
+ * number of mazes of one size from one algorithm, and every maze is handed to
+ * a {@link Handler} on the thread that made it. Each thread keeps its grid
+ * from one maze to the next, so a steady stream of batches of one size makes
+ * no garbage beyond what the algorithm itself allocates.
+ * <p>
+ * At most a fixed number of batches may be pending at once; further calls to
+ * {@link #submit} wait until one finishes. A batch is cancelled by cancelling
+ * its future, after which no more of its mazes are started.
+ */
+public class MazeService implements AutoCloseable {
+
+	/**
+	 * Receives every maze of a batch. The grid is reused for the next maze
+	 * once the handler returns, so anything kept must be copied out of it.
+	 */
+	public interface Handler<R> {
+
+		/**
+		 * @param index The index of the maze in its batch.
+		 * @param seed The seed the maze was generated from.
+		 */
+		R handle(int index, long seed, MazeGrid grid);
+	}
+
+	/**
+	 * A number of mazes of one size, generated by one algorithm from seeds
+	 * drawn from one seed.
+	 */
+	public static class Request {
+
+		private final int count, rows, columns;
+
+		private final MazeGenerator generator;
+
+		private final long seed;
+
+		public Request(int count, int rows, int columns, MazeGenerator generator,
+				long seed){
+			if(count < 0 || rows < 1 || columns < 1
+					|| (long)rows * columns > Integer.MAX_VALUE){
+				throw new IllegalArgumentException("Invalid request: " + count
+						+ " mazes of " + rows + "x" + columns);
+			}
+			this.count = count;
+			this.rows = rows;
+			this.columns = columns;
+			this.generator = generator;
+			this.seed = seed;
+		}
+
+		public int getCount(){
+			return count;
+		}
+
+		/** The seed of every maze, in order.								 */
+		long[] seeds(){
+			SplittableRandom random = new SplittableRandom(seed);
+			long[] seeds = new long[count];
+			for(int i = 0; i < count; i++){
+				seeds[i] = random.nextLong();
+			}
+			return seeds;
+		}
+	}
+
+	private final ExecutorService executor;
+
+	private final int threads;
+
+	/** A permit for every batch that may still be pending.					 */
+	private final Semaphore pending;
+
+	/** The grid of every thread of the pool, reused from maze to maze.		 */
+	private final ThreadLocal<MazeGrid> grids = new ThreadLocal<MazeGrid>();
+
+	/** The futures of the batches and tasks that are not done yet.			 */
+	private final Set<CompletableFuture<?>> live = ConcurrentHashMap.newKeySet();
+
+	public MazeService(){
+		this(Runtime.getRuntime().availableProcessors(), 16);
+	}
+
+	/**
+	 * @param threads The number of mazes generated at once.
+	 * @param maxPending The number of batches that may be pending at once.
+	 */
+	public MazeService(int threads, int maxPending){
+		this.threads = threads;
+		pending = new Semaphore(maxPending);
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory(){
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable task){
+				Thread thread = new Thread(task, "maze-service-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Starts generating a batch of mazes, waiting first if too many batches
+	 * are pending.
+	 *
+	 * @return The results of the handler for every maze, in order.
+	 */
+	public <R> CompletableFuture<List<R>> submit(Request request, Handler<R> handler)
+			throws InterruptedException {
+		if(executor.isShutdown()){
+			throw new RejectedExecutionException("The service is closed");
+		}
+		pending.acquire();
+		Batch<R> batch = new Batch<R>(request, handler);
+		//Every worker takes the next maze until none are left.
+		int workers = Math.max(Math.min(threads, request.count), 1);
+		batch.workers.set(workers);
+		live.add(batch.future);
+		int started = 0;
+		try {
+			for(; started < workers; started++){
+				executor.execute(batch);
+			}
+		} catch(RejectedExecutionException e){
+			batch.future.completeExceptionally(e);
+			//The workers that never started are done.
+			for(; started < workers; started++){
+				batch.finish();
+			}
+		}
+		return batch.future;
+	}
+
+	/**
+	 * Runs the task on the pool. The task is skipped if the future is
+	 * cancelled before it starts.
+	 */
+	public CompletableFuture<Void> run(final Runnable task){
+		final CompletableFuture<Void> future = new CompletableFuture<Void>();
+		live.add(future);
+		try {
+			executor.execute(new Runnable(){
+				public void run(){
+					try {
+						if(!future.isDone()){
+							task.run();
+							future.complete(null);
+						}
+					} catch(Throwable e){
+						future.completeExceptionally(e);
+					} finally {
+						live.remove(future);
+					}
+				}
+			});
+		} catch(RejectedExecutionException e){
+			live.remove(future);
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/** The grid of this thread, made or replaced to fit the given size.	 */
+	private MazeGrid grid(int rows, int columns){
+		MazeGrid grid = grids.get();
+		if(grid == null || grid.getRows() != rows || grid.getColumns() != columns){
+			grid = new MazeGrid(rows, columns);
+			grids.set(grid);
+		}
+		return grid;
+	}
+
+	/**
+	 * Stops the pool and cancels every batch and task that is not done yet,
+	 * including those still waiting for a thread. Mazes and tasks already
+	 * started are finished, but their results are dropped, so no future of
+	 * the service completes normally after this returns.
+	 */
+	public void close(){
+		List<Runnable> dropped = executor.shutdownNow();
+		for(CompletableFuture<?> future : live){
+			future.cancel(false);
+		}
+		//Workers that never started are done, which releases their batches.
+		for(Runnable task : dropped){
+			if(task instanceof Batch){
+				((Batch<?>)task).finish();
+			}
+		}
+	}
+
+	/**
+	 * A batch being generated. Every worker of the batch runs it, taking
+	 * mazes in order until none are left.
+	 */
+	private class Batch<R> implements Runnable {
+
+		private final Request request;
+
+		private final Handler<R> handler;
+
+		private final long[] seeds;
+
+		private final Object[] results;
+
+		private final CompletableFuture<List<R>> future = new CompletableFuture<List<R>>();
+
+		/** The index of the next maze to generate.							 */
+		private final AtomicInteger next = new AtomicInteger();
+
+		/** The number of workers still running.								 */
+		private final AtomicInteger workers = new AtomicInteger();
+
+		Batch(Request request, Handler<R> handler){
+			this.request = request;
+			this.handler = handler;
+			seeds = request.seeds();
+			results = new Object[request.count];
+		}
+
+		public void run(){
+			try {
+				MazeGrid grid = grid(request.rows, request.columns);
+				for(int i = next.getAndIncrement(); i < request.count && !future.isDone();
+						i = next.getAndIncrement()){
+					MazeMetrics.generate(request.generator, grid,
+							new SplittableRandom(seeds[i]), StepListener.NONE);
+					results[i] = handler.handle(i, seeds[i], grid);
+				}
+			} catch(Throwable e){
+				future.completeExceptionally(e);
+			} finally {
+				finish();
+			}
+		}
+
+		/**
+		 * Called once for every worker of the batch when it stops or is
+		 * dropped. The last one completes the batch.
+		 */
+		@SuppressWarnings("unchecked")
+		void finish(){
+			if(workers.decrementAndGet() == 0){
+				live.remove(future);
+				pending.release();
+				future.complete((List<R>)Arrays.asList(results));
+			}
+		}
+	}
+}
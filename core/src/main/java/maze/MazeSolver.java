@@ -0,0 +1,48 @@
+package maze;
+
+/**
+ * An algorithm that finds a path between two cells of a {@link MazeGrid}.
+ * Solvers only read the grid and keep their state in arrays of their own, so a
+ * maze can be solved any number of times, by any number of solvers.
+ */
+public interface MazeSolver {
+
+	/**
+	 * Finds a path from <code>start</code> to <code>goal</code>, reporting a
+	 * step for every cell the search visits.
+	 *
+	 * @return The cells of the path in order, starting with start and ending
+	 * 		with goal, or null if no path exists.
+	 */
+	int[] solve(MazeGrid grid, int start, int goal, StepListener listener);
+
+	/**
+	 * Finds a path from <code>start</code> to <code>goal</code> without
+	 * reporting any steps.
+	 */
+	default int[] solve(MazeGrid grid, int start, int goal){
+		return solve(grid, start, goal, StepListener.NONE);
+	}
+
+	/** The name of the algorithm.											 */
+	String getName();
+
+	/**
+	 * Follows the parents of <code>goal</code> back to the start of a search.
+	 *
+	 * @param parent The cell each cell was reached from; the start of the
+	 * 		search is its own parent.
+	 */
+	static int[] path(int[] parent, int goal){
+		int length = 1;
+		for(int cell = goal; parent[cell] != cell; cell = parent[cell]){
+			length++;
+		}
+
+		int[] path = new int[length];
+		for(int cell = goal; length > 0; cell = parent[cell]){
+			path[--length] = cell;
+		}
+		return path;
+	}
+}
@@ -0,0 +1,24 @@
+package maze;
+
+import java.awt.Color;
+
+/**
+ * The colors a cell can take. Cells store one of the byte codes below rather
+ * than a {@link Color} so that a grid needs only one byte per cell.
+ */
+public final class Palette {
+
+	public static final byte LIGHT_GRAY = 0, WHITE = 1, PINK = 2, BLUE = 3,
+			RED = 4, GREEN = 5, CYAN = 6, ORANGE = 7;
+
+	private static final Color[] COLORS = {
+		Color.LIGHT_GRAY, Color.WHITE, Color.PINK, Color.BLUE,
+		Color.RED, new Color(0, 255, 0), Color.CYAN, Color.ORANGE
+	};
+
+	private Palette(){}
+
+	public static Color get(byte color){
+		return COLORS[color];
+	}
+}
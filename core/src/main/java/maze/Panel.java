@@ -0,0 +1,362 @@
+package maze;
+
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+
+
+public class Panel extends JPanel implements KeyListener {
+
+	private Maze maze;
+
+	/** Generates and solves the maze off the event dispatch thread.		 */
+	private final MazeService service = new MazeService(1, 1);
+
+	/** The generation last asked for, or null.							 */
+	private CompletableFuture<Void> generating;
+
+	/** The cell the player is on, or -1 before a maze is generated.		 */
+	private volatile int current = -1;
+
+	private int cellSize, rows, columns, delay;
+	
+	private boolean shift, ctrl;
+
+	/** The factor of one step of zoom.										 */
+	private static final double ZOOM = 1.25;
+	
+	public Panel(){
+		this(50, 720/55, 1040/55);
+	}
+	
+	public Panel(int cellSize){
+		this(cellSize, 720/(cellSize + 1), 1040/(cellSize + 1));
+	}
+	
+	public Panel(int cellSize, int gridSize){
+		this(cellSize, gridSize, gridSize);
+	}
+	
+	public Panel(int cellSize, int rows, int columns){
+		this.setSize(1040, 720);
+		this.addKeyListener(this);
+		
+		this.cellSize = cellSize;
+		this.rows = rows;
+		this.columns = columns;
+		
+		maze = new Maze(10, 10, cellSize, rows, columns, this);
+		resetView();
+
+		//Dragging pans the maze and the wheel zooms it around the cursor.
+		MouseAdapter mouse = new MouseAdapter(){
+			private Point last;
+
+			public void mousePressed(MouseEvent e){
+				last = e.getPoint();
+			}
+
+			public void mouseDragged(MouseEvent e){
+				maze.getView().pan(e.getX() - last.x, e.getY() - last.y);
+				last = e.getPoint();
+				repaint();
+			}
+
+			public void mouseWheelMoved(MouseWheelEvent e){
+				zoom(Math.pow(ZOOM, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+			}
+		};
+		addMouseListener(mouse);
+		addMouseMotionListener(mouse);
+		addMouseWheelListener(mouse);
+	}
+
+	/**
+	 * Shows the maze at its own cell size if it fits in the panel, or zooms
+	 * out until it does.
+	 */
+	private void resetView(){
+		if(columns*cellSize + 20 <= getWidth() && rows*cellSize + 20 <= getHeight()){
+			maze.resetView();
+		} else {
+			maze.getView().fit(new Rectangle(10, 10, getWidth() - 20, getHeight() - 20));
+		}
+		repaint();
+	}
+
+	private void zoom(double factor, double x, double y){
+		maze.getView().zoom(factor, x, y);
+		repaint();
+	}
+
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		//g.drawRect(0, 0, this.getWidth(), this.getHeight());
+
+		if(maze != null){
+			maze.draw(g);
+		}
+	}
+
+	@Override
+	public void keyPressed(KeyEvent e){
+		if(e.getKeyCode() == KeyEvent.VK_SHIFT){
+			shift = true;
+		} else if(e.getKeyCode() == KeyEvent.VK_CONTROL){
+			ctrl = true;
+		}
+		
+		if(shift){
+			if(e.getKeyCode() == KeyEvent.VK_0){
+				cellSize = 4;
+			} else if(e.getKeyCode() == KeyEvent.VK_1){
+				cellSize = 10;
+			} else if(e.getKeyCode() == KeyEvent.VK_2){
+				cellSize = 20;
+			} else if(e.getKeyCode() == KeyEvent.VK_3){
+				cellSize = 30;
+			} else if(e.getKeyCode() == KeyEvent.VK_4){
+				cellSize = 40;
+			} else if(e.getKeyCode() == KeyEvent.VK_5){
+				cellSize = 50;
+			} else if(e.getKeyCode() == KeyEvent.VK_6){
+				cellSize = 60;
+			} else if(e.getKeyCode() == KeyEvent.VK_7){
+				cellSize = 70;
+			} else if(e.getKeyCode() == KeyEvent.VK_8){
+				cellSize = 80;
+			} else if(e.getKeyCode() == KeyEvent.VK_9){
+				cellSize = 90;
+			} else {
+				return;
+			}
+
+			rows = (int)(getHeight()/(cellSize));
+			columns = (int)(getWidth()/(cellSize));
+			
+			while(cellSize*rows > getHeight() - 20){
+				rows--;
+			}
+			
+			while(cellSize*columns > getWidth() - 20){
+				columns--;
+			}
+			
+			/*while(rows * columns > 42000){//Arbitrary limit to prevent overflows
+				rows--;
+				columns--;
+			}*/
+			
+			delay = cellSize;
+			
+			newMaze();
+			resetView();
+			return;
+		} else if(ctrl){
+			if(e.getKeyCode() == KeyEvent.VK_S){
+				save();
+				return;
+			} else if(e.getKeyCode() == KeyEvent.VK_O){
+				open();
+				return;
+			} else if(e.getKeyCode() == KeyEvent.VK_0){
+				delay = 0;
+			} else if(e.getKeyCode() == KeyEvent.VK_1){
+				delay = 10;
+			} else if(e.getKeyCode() == KeyEvent.VK_2){
+				delay = 20;
+			} else if(e.getKeyCode() == KeyEvent.VK_3){
+				delay = 30;
+			} else if(e.getKeyCode() == KeyEvent.VK_4){
+				delay = 40;
+			} else if(e.getKeyCode() == KeyEvent.VK_5){
+				delay = 50;
+			} else if(e.getKeyCode() == KeyEvent.VK_6){
+				delay = 60;
+			} else if(e.getKeyCode() == KeyEvent.VK_7){
+				delay = 70;
+			} else if(e.getKeyCode() == KeyEvent.VK_8){
+				delay = 80;
+			} else if(e.getKeyCode() == KeyEvent.VK_9){
+				delay = 90;
+			} else {
+				return;
+			}
+			maze.setDelay(delay);
+			repaint();
+		}
+		
+		if(e.getKeyCode() == KeyEvent.VK_R){
+			maze.replay();
+		} else if(e.getKeyCode() == KeyEvent.VK_ESCAPE){
+			maze.skipAnimation();
+		} else if(e.getKeyCode() == KeyEvent.VK_HOME){
+			resetView();
+		} else if(e.getKeyCode() == KeyEvent.VK_EQUALS || e.getKeyCode() == KeyEvent.VK_PLUS){
+			zoom(ZOOM, getWidth()/2, getHeight()/2);
+		} else if(e.getKeyCode() == KeyEvent.VK_MINUS){
+			zoom(1/ZOOM, getWidth()/2, getHeight()/2);
+		}
+
+		if(e.getKeyCode() == KeyEvent.VK_SPACE){
+			//A maze that has not started yet is replaced by the new one.
+			if(generating != null){
+				generating.cancel(false);
+			}
+			final Maze target = maze;
+			generating = service.run(new Runnable(){
+				public void run(){
+					target.generate();
+					current = target.getOrigin();
+					repaint();
+				}
+			});
+		}
+
+		if(current < 0){
+			return;
+		}
+
+		MazeGrid walls = maze.getWalls();
+
+		if(e.getKeyCode() == KeyEvent.VK_UP || e.getKeyCode() == KeyEvent.VK_W){
+			if(!walls.hasTopWall(current)){
+				move(current - walls.getColumns());
+			}
+		} else if(e.getKeyCode() == KeyEvent.VK_DOWN || e.getKeyCode() == KeyEvent.VK_S){
+			if(!walls.hasBottomWall(current)){
+				move(current + walls.getColumns());
+			}
+		} else if(e.getKeyCode() == KeyEvent.VK_LEFT || e.getKeyCode() == KeyEvent.VK_A){
+			if(!walls.hasLeftWall(current)){
+				move(current - 1);
+			}
+		} else if(e.getKeyCode() == KeyEvent.VK_RIGHT || e.getKeyCode() == KeyEvent.VK_D){
+			if(!walls.hasRightWall(current)){
+				move(current + 1);
+			}
+		} else if(e.getKeyCode() == KeyEvent.VK_ENTER){
+			final Maze target = maze;
+			service.run(new Runnable(){
+				public void run(){
+					target.solve();
+					repaint();
+				}
+			});
+		}
+
+		repaint();
+	}
+
+	/** Asks for a file and saves the maze to it.						 */
+	private void save(){
+		JFileChooser chooser = new JFileChooser();
+		//The dialog takes the release of the control key.
+		ctrl = false;
+		if(chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION){
+			return;
+		}
+		try {
+			maze.save(chooser.getSelectedFile().toPath());
+		} catch(IOException ex){
+			JOptionPane.showMessageDialog(this, ex.getMessage(), "Could not save the maze",
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Asks for a file and opens the maze in it, making a new maze if the one
+	 * in the file is of another size.
+	 */
+	private void open(){
+		JFileChooser chooser = new JFileChooser();
+		ctrl = false;
+		if(chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION){
+			return;
+		}
+		try(MazeFile file = MazeFile.open(chooser.getSelectedFile().toPath())){
+			//Larger files can only be read a region at a time.
+			if((long)file.getRows() * file.getColumns() > Integer.MAX_VALUE){
+				throw new IOException("The maze is too large to show: "
+						+ file.getRows() + "x" + file.getColumns());
+			}
+			if(file.getRows() != rows || file.getColumns() != columns){
+				rows = file.getRows();
+				columns = file.getColumns();
+				newMaze();
+			}
+			maze.load(file);
+			current = maze.getOrigin();
+			resetView();
+		} catch(IOException ex){
+			JOptionPane.showMessageDialog(this, ex.getMessage(), "Could not open the maze",
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Replaces the maze with a new one of the current size, which has no
+	 * player until it is generated or loaded.
+	 */
+	private void newMaze(){
+		if(generating != null){
+			generating.cancel(false);
+		}
+		maze.stopAnimation();
+		maze = new Maze(10, 10, cellSize, rows, columns, this, delay);
+		//The player was on a cell of the old maze.
+		current = -1;
+	}
+
+	/** Moves the player to the given cell, leaving a trail behind.		 */
+	private void move(int cell){
+		maze.setColor(current, Palette.ORANGE);
+		current = cell;
+		maze.setColor(current, Palette.RED);
+	}
+
+	@Override
+	public void keyReleased(KeyEvent e){
+		if(e.getKeyCode() == KeyEvent.VK_SHIFT){
+			shift = false;
+		} else if(e.getKeyCode() == KeyEvent.VK_CONTROL){
+			ctrl = false;
+		}
+	}
+
+	@Override
+	public void keyTyped(KeyEvent arg0){}
+	
+	public static void main(String[] a){
+		JFrame frame = new JFrame();
+		Panel p = null;
+		if(a.length == 1){
+			p = new Panel(Integer.parseInt(a[0]));
+		} else if(a.length == 2){
+			p = new Panel(Integer.parseInt(a[0]), Integer.parseInt(a[1]));
+		} else if(a.length == 3){
+			p = new Panel(Integer.parseInt(a[0]), Integer.parseInt(a[1]), Integer.parseInt(a[2]));
+		} else {
+			p = new Panel();
+		}
+		frame.addKeyListener(p);
+
+		frame.setSize(p.getSize());
+		frame.add(p);
+		frame.setVisible(true);
+		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+	}
+
+}
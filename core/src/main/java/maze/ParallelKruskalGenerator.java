@@ -0,0 +1,162 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates the same maze as {@link KruskalGenerator} on a
+ * {@link ForkJoinPool}. The keys of the walls are drawn in parallel blocks and
+ * sorted with a parallel sort. The sorted walls are then taken in batches:
+ * first the walls of a batch whose cells are already connected are dropped in
+ * parallel, with finds on a {@link ConcurrentUnionFind}, and then the rest are
+ * knocked down or dropped in order on one thread. Sets only grow, so a wall
+ * dropped by the parallel pass would have been dropped in order too, and the
+ * maze is exactly the one Kruskal's algorithm makes from the same shuffle.
+ * Most walls late in the order are dropped in parallel.
+ * <p>
+ * When {@link MazeGenerator#isSequential} holds, the maze is generated by
+ * {@link KruskalGenerator} instead.
+ */
+public class ParallelKruskalGenerator implements MazeGenerator {
+
+	/** The default number of walls below which a task is not forked.		 */
+	public static final int THRESHOLD = 1 << 13;
+
+	/** The number of walls in a batch.									 */
+	public static final int BATCH = 1 << 18;
+
+	private final ForkJoinPool pool;
+
+	private final int threshold;
+
+	public ParallelKruskalGenerator(){
+		this(ForkJoinPool.commonPool(), THRESHOLD);
+	}
+
+	public ParallelKruskalGenerator(ForkJoinPool pool, int threshold){
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		if(MazeGenerator.isSequential(grid, listener)){
+			new KruskalGenerator().generate(grid, random, listener);
+			return;
+		}
+
+		grid.raiseAllWalls();
+		final long[] seeds = KruskalGenerator.seeds(grid, random);
+		final long[] walls = new long[2 * grid.size()];
+		pool.invoke(new Keys(grid, walls, seeds, 0, seeds.length));
+		pool.invoke(new RecursiveAction(){
+			private static final long serialVersionUID = 1L;
+
+			protected void compute(){
+				Arrays.parallelSort(walls);
+			}
+		});
+
+		int count = 0;
+		while(count < walls.length && walls[count] != KruskalGenerator.NO_WALL){
+			count++;
+		}
+
+		ConcurrentUnionFind sets = new ConcurrentUnionFind(grid.size());
+		for(int from = 0; from < count; from += BATCH){
+			int to = Math.min(from + BATCH, count);
+			pool.invoke(new Filter(grid, sets, walls, from, to));
+
+			for(int i = from; i < to; i++){
+				if(walls[i] != KruskalGenerator.NO_WALL){
+					int a = KruskalGenerator.cell(walls[i]);
+					int b = KruskalGenerator.neighbor(grid, walls[i]);
+					if(sets.union(a, b)){
+						grid.knockDownWall(a, b);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws the keys of the blocks of walls between from, inclusive, and to,
+	 * exclusive.
+	 */
+	private class Keys extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MazeGrid grid;
+
+		private final long[] walls, seeds;
+
+		private final int from, to;
+
+		Keys(MazeGrid grid, long[] walls, long[] seeds, int from, int to){
+			this.grid = grid;
+			this.walls = walls;
+			this.seeds = seeds;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute(){
+			if(to - from == 1){
+				KruskalGenerator.keys(grid, walls, seeds, from);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Keys(grid, walls, seeds, from, middle),
+					new Keys(grid, walls, seeds, middle, to));
+		}
+	}
+
+	/**
+	 * Drops the walls between from, inclusive, and to, exclusive, whose cells
+	 * are already connected, by overwriting them with
+	 * {@link KruskalGenerator#NO_WALL}.
+	 */
+	private class Filter extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MazeGrid grid;
+
+		private final ConcurrentUnionFind sets;
+
+		private final long[] walls;
+
+		private final int from, to;
+
+		Filter(MazeGrid grid, ConcurrentUnionFind sets, long[] walls, int from, int to){
+			this.grid = grid;
+			this.sets = sets;
+			this.walls = walls;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute(){
+			if(to - from > threshold){
+				int middle = (from + to) >>> 1;
+				invokeAll(new Filter(grid, sets, walls, from, middle),
+						new Filter(grid, sets, walls, middle, to));
+				return;
+			}
+			for(int i = from; i < to; i++){
+				int a = KruskalGenerator.cell(walls[i]);
+				int b = KruskalGenerator.neighbor(grid, walls[i]);
+				if(sets.connected(a, b)){
+					walls[i] = KruskalGenerator.NO_WALL;
+				}
+			}
+		}
+	}
+
+	public String getName(){
+		return "Kruskal's";
+	}
+}
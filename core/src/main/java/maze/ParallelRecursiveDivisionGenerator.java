@@ -0,0 +1,132 @@
+package maze;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Generates a maze by recursive division on a {@link ForkJoinPool}. The two
+ * halves of a divided region never share a wall, so they are divided by
+ * separate tasks; regions smaller than the threshold are divided sequentially.
+ * Neighboring regions share words of the {@link MazeGrid} only at the ends of
+ * their rows, where walls are raised atomically.
+ * <p>
+ * Every task divides with its own generator split from its parent's, so the
+ * maze depends only on the seed and not on how tasks are scheduled. When
+ * {@link MazeGenerator#isSequential} holds, the maze is divided by
+ * {@link RecursiveDivisionGenerator} instead.
+ */
+public class ParallelRecursiveDivisionGenerator implements MazeGenerator {
+
+	/** The default number of cells below which a region is not forked.	 */
+	public static final int THRESHOLD = 1 << 14;
+
+	private final ForkJoinPool pool;
+
+	private final int threshold;
+
+	public ParallelRecursiveDivisionGenerator(){
+		this(ForkJoinPool.commonPool(), THRESHOLD);
+	}
+
+	public ParallelRecursiveDivisionGenerator(ForkJoinPool pool, int threshold){
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		if(MazeGenerator.isSequential(grid, listener)){
+			new RecursiveDivisionGenerator().generate(grid, random, listener);
+			return;
+		}
+
+		grid.knockDownAllWalls();
+		SplittableGenerator root = MazeGenerator.splittable(random);
+		double texture = RecursiveDivisionGenerator.texture(root);
+		pool.invoke(new Division(grid, root, 0, grid.getRows() - 1, 0,
+				grid.getColumns() - 1, texture));
+		grid.countChange();
+	}
+
+	/**
+	 * Divides the region between the given rows and columns, inclusive.
+	 */
+	private class Division extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MazeGrid grid;
+
+		private final SplittableGenerator random;
+
+		private final int top, bottom, left, right;
+
+		private final double texture;
+
+		Division(MazeGrid grid, SplittableGenerator random, int top,
+				int bottom, int left, int right, double texture){
+			this.grid = grid;
+			this.random = random;
+			this.top = top;
+			this.bottom = bottom;
+			this.left = left;
+			this.right = right;
+			this.texture = texture;
+		}
+
+		protected void compute(){
+			int height = bottom - top, width = right - left;
+			if(height < 1 || width < 1){
+				return;
+			}
+
+			if((long)(height + 1) * (width + 1) < threshold){
+				RecursiveDivisionGenerator.divide(grid, random, StepListener.NONE,
+						top, bottom, left, right, texture, left, right);
+				return;
+			}
+
+			Division first, second;
+			if(!RecursiveDivisionGenerator.isVertical(random, height, width, texture)){
+				int randRow = top + random.nextInt(height);
+				int skipColumn = left + random.nextInt(width);
+
+				for(int i = left; i <= right; i++){
+					if(i != skipColumn){
+						RecursiveDivisionGenerator.raiseWall(grid,
+								grid.index(randRow, i), grid.index(randRow + 1, i),
+								randRow, left, right);
+					}
+				}
+
+				first = new Division(grid, random.split(), top, randRow, left,
+						right, texture);
+				second = new Division(grid, random.split(), randRow + 1, bottom,
+						left, right, texture);
+			} else {
+				int randColumn = left + random.nextInt(width);
+				int skipRow = top + random.nextInt(height);
+
+				for(int i = top; i <= bottom; i++){
+					if(i != skipRow){
+						RecursiveDivisionGenerator.raiseWall(grid,
+								grid.index(i, randColumn), grid.index(i, randColumn + 1),
+								i, left, right);
+					}
+				}
+
+				first = new Division(grid, random.split(), top, bottom, left,
+						randColumn, texture);
+				second = new Division(grid, random.split(), top, bottom,
+						randColumn + 1, right, texture);
+			}
+			invokeAll(first, second);
+		}
+	}
+
+	public String getName(){
+		return "Recursive Division";
+	}
+}
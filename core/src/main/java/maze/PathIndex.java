@@ -0,0 +1,163 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * Answers path queries between any two cells of a perfect maze without
+ * searching. The maze is a spanning tree, so it is rooted once and every cell
+ * stores its parent, its depth and a jump pointer to one of its ancestors. The
+ * jump pointers are chosen so that any ancestor, and therefore the lowest
+ * common ancestor of two cells, is reached in O(log n) steps while using only
+ * one int per cell, rather than the log n ints per cell of a full binary
+ * lifting table.
+ * <p>
+ * The index is a snapshot: it must be rebuilt if the walls change. In a maze
+ * with loops the paths are still valid, but they follow a breadth first
+ * spanning tree and need not be shortest.
+ */
+public class PathIndex {
+
+	private final int root;
+
+	private final int[] parent, depth, jump;
+
+	/**
+	 * Indexes the maze rooted at cell 0.
+	 */
+	public PathIndex(MazeGrid grid){
+		this(grid, 0);
+	}
+
+	/**
+	 * Indexes the maze rooted at the given cell.
+	 *
+	 * @throws IllegalArgumentException If some cell cannot be reached from the
+	 * 		root.
+	 */
+	public PathIndex(MazeGrid grid, int root){
+		int size = grid.size();
+		this.root = root;
+		parent = new int[size];
+		depth = new int[size];
+		jump = new int[size];
+
+		//Breadth first order, so every parent is indexed before its children.
+		int[] queue = new int[size];
+		int head = 0, tail = 0;
+
+		Arrays.fill(depth, -1);
+		parent[root] = root;
+		jump[root] = root;
+		depth[root] = 0;
+		queue[tail++] = root;
+
+		while(head < tail){
+			int cell = queue[head++];
+
+			for(int mask = grid.passageMask(cell); mask != 0; mask &= mask - 1){
+				int child = grid.neighbor(cell, Integer.lowestOneBit(mask));
+				if(depth[child] < 0){
+					parent[child] = cell;
+					depth[child] = depth[cell] + 1;
+					jump[child] = jumpFrom(cell);
+					queue[tail++] = child;
+				}
+			}
+		}
+
+		if(tail < size){
+			throw new IllegalArgumentException("The maze is not connected: only "
+					+ tail + " of " + size + " cells can be reached.");
+		}
+	}
+
+	/**
+	 * The jump pointer of a child of the given cell. If the jumps of the
+	 * parent and of its target are equally long, the child jumps over both;
+	 * otherwise it jumps to its parent. This gives jumps of lengths
+	 * 2^k - 1, so any ancestor is reached in O(log n) jumps.
+	 */
+	private int jumpFrom(int parent){
+		int target = jump[parent];
+		if(depth[parent] - depth[target] == depth[target] - depth[jump[target]]){
+			return jump[target];
+		}
+		return parent;
+	}
+
+	public int getRoot(){
+		return root;
+	}
+
+	/** The number of steps from the root to the cell.						 */
+	public int depth(int cell){
+		return depth[cell];
+	}
+
+	/** The cell before the given cell on the path from the root.			 */
+	public int parent(int cell){
+		return parent[cell];
+	}
+
+	/**
+	 * The ancestor of the cell at the given depth, which must be at most the
+	 * depth of the cell.
+	 */
+	public int ancestor(int cell, int atDepth){
+		while(depth[cell] > atDepth){
+			cell = depth[jump[cell]] >= atDepth ? jump[cell] : parent[cell];
+		}
+		return cell;
+	}
+
+	/**
+	 * The lowest common ancestor of the two cells, i.e. the cell at which the
+	 * path between them turns back toward the root.
+	 */
+	public int lowestCommonAncestor(int a, int b){
+		if(depth[a] > depth[b]){
+			a = ancestor(a, depth[b]);
+		} else if(depth[b] > depth[a]){
+			b = ancestor(b, depth[a]);
+		}
+
+		while(a != b){
+			//Cells at equal depths have jumps of equal lengths.
+			if(jump[a] != jump[b]){
+				a = jump[a];
+				b = jump[b];
+			} else {
+				a = parent[a];
+				b = parent[b];
+			}
+		}
+		return a;
+	}
+
+	/**
+	 * The number of steps on the path between the two cells.
+	 */
+	public int distance(int a, int b){
+		return depth[a] + depth[b] - 2 * depth[lowestCommonAncestor(a, b)];
+	}
+
+	/**
+	 * The path between the two cells.
+	 *
+	 * @return The cells of the path in order, starting with a and ending with
+	 * 		b.
+	 */
+	public int[] path(int a, int b){
+		int ancestor = lowestCommonAncestor(a, b);
+		int up = depth[a] - depth[ancestor], down = depth[b] - depth[ancestor];
+		int[] path = new int[up + down + 1];
+
+		for(int i = 0; i <= up; i++, a = parent[a]){
+			path[i] = a;
+		}
+		for(int i = up + down; i > up; i--, b = parent[b]){
+			path[i] = b;
+		}
+		return path;
+	}
+}
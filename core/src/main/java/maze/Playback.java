@@ -0,0 +1,175 @@
+package maze;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.Timer;
+
+/**
+ * Animates an {@link EventLog} on a grid. A Swing timer applies the events of
+ * a few steps every frame, so the speed of the animation depends only on the
+ * delay and not on how long the algorithm took. The animation may be sped up,
+ * skipped to the end or replayed from the start while it runs. Every method
+ * must be called on the event dispatch thread.
+ */
+public class Playback {
+
+	/** The shortest time between two frames, in milliseconds.			 */
+	public static final int FRAME = 16;
+
+	/** The grid the events are applied to.								 */
+	private final Grid grid;
+
+	private final Timer timer;
+
+	private EventLog log = new EventLog();
+
+	/** The index of the next event to apply.								 */
+	private int position;
+
+	/** The number of steps applied from the log.							 */
+	private int played;
+
+	/** The time each step is shown for, in milliseconds.					 */
+	private int delay;
+
+	/** The length of the whole animation in milliseconds, or 0 to use the delay. */
+	private int duration;
+
+	/** The frames left to play the rest of the log in, when it has a duration. */
+	private int frames;
+
+	public Playback(Grid grid, int delay){
+		this.grid = grid;
+		timer = new Timer(FRAME, new ActionListener(){
+			public void actionPerformed(ActionEvent e){
+				frame();
+			}
+		});
+		setDelay(delay);
+	}
+
+	/**
+	 * Starts animating the given log from its first event. The grid should be
+	 * in the state the log was recorded from.
+	 */
+	public void play(EventLog log){
+		this.log = log;
+		position = 0;
+		played = 0;
+		frames = duration / FRAME;
+		resume();
+	}
+
+	/**
+	 * Continues the animation, e.g. after events were added to the log. Steps
+	 * added once the duration has run out, such as the solution, are given
+	 * the whole duration again.
+	 */
+	public void resume(){
+		if(delay == 0 && duration == 0){
+			skip();
+		} else if(!timer.isRunning()){
+			if(frames <= 0){
+				frames = duration / FRAME;
+			}
+			timer.start();
+		}
+	}
+
+	/** Applies every event that has not been applied yet.					 */
+	public void skip(){
+		apply(Integer.MAX_VALUE);
+		timer.stop();
+	}
+
+	public void stop(){
+		timer.stop();
+	}
+
+	public boolean isPlaying(){
+		return timer.isRunning();
+	}
+
+	/**
+	 * Sets the time each step is shown for. Steps shorter than a frame are
+	 * shown several per frame. A delay of 0 skips the animation.
+	 */
+	public void setDelay(int delay){
+		this.delay = Math.max(delay, 0);
+		duration = 0;
+		timer.setDelay(Math.max(this.delay, FRAME));
+	}
+
+	/**
+	 * Makes the rest of the animation, and every later one, take about the
+	 * given time, whatever the number of steps.
+	 */
+	public void setDuration(int millis){
+		duration = Math.max(millis, FRAME);
+		frames = duration / FRAME;
+		timer.setDelay(FRAME);
+	}
+
+	public EventLog getLog(){
+		return log;
+	}
+
+	/**
+	 * The number of steps applied in the next frame. With a duration, the
+	 * steps not yet played are spread over the frames left, so the animation
+	 * ends on time even if it was sped up or the log grew.
+	 */
+	private int stepsPerFrame(){
+		if(duration > 0){
+			int remaining = log.getSteps() - played, left = Math.max(frames--, 1);
+			return Math.max((remaining + left - 1) / left, 1);
+		}
+		return Math.max(FRAME / Math.max(delay, 1), 1);
+	}
+
+	private void frame(){
+		if(!apply(stepsPerFrame())){
+			timer.stop();
+		}
+	}
+
+	/**
+	 * Applies the events of the next steps and repaints what they changed.
+	 *
+	 * @return Whether there may be more events to apply.
+	 */
+	private boolean apply(int steps){
+		MazeGrid walls = grid.walls;
+		int size = log.size();
+		while(position < size && steps > 0){
+			long event = log.get(position++);
+			switch(EventLog.kind(event)){
+			case EventLog.COLOR:
+				grid.setColor(EventLog.cell(event), EventLog.color(event));
+				break;
+			case EventLog.WALL:
+				int a = EventLog.cell(event);
+				int b = EventLog.isBottom(event) ? a + walls.getColumns() : a + 1;
+				if(EventLog.isRaised(event)){
+					walls.raiseWall(a, b);
+				} else {
+					walls.knockDownWall(a, b);
+				}
+				break;
+			case EventLog.ALL_WALLS:
+				if(EventLog.isRaised(event)){
+					walls.raiseAllWalls();
+				} else {
+					walls.knockDownAllWalls();
+				}
+				break;
+			default:
+				steps--;
+				played++;
+			}
+		}
+		grid.repaintChanges();
+		return position < size;
+	}
+}
@@ -0,0 +1,76 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with randomized Prim's algorithm: the maze grows from a
+ * random cell by joining a uniformly chosen cell of its frontier at each step.
+ * <p>
+ * The frontier is an array of cells from which a random cell is picked and
+ * removed in constant time by swapping in the last cell, so generation runs in
+ * time linear in the number of cells.
+ */
+public class PrimsGenerator implements MazeGenerator {
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		BitSet maze = new BitSet(grid.size());
+
+		//The cells that are in the maze or have been added to the frontier.
+		BitSet seen = new BitSet(grid.size());
+
+		//A cell enters the frontier at most once.
+		int[] frontier = new int[grid.size()];
+		int size = 0;
+
+		int current = random.nextInt(grid.size());
+
+		maze.set(current);
+		seen.set(current);
+		listener.setColor(current, Palette.WHITE);
+
+		//We color the frontier
+		for(int mask = grid.neighborMask(current); mask != 0; mask &= mask - 1){
+			int neighbor = grid.neighbor(current, Integer.lowestOneBit(mask));
+			frontier[size++] = neighbor;
+			seen.set(neighbor);
+			listener.setColor(neighbor, Palette.CYAN);
+		}
+		listener.frontier(size);
+		listener.step();
+		while(size > 0){
+			//A random cell in the frontier which is not part of the maze yet.
+			int index = random.nextInt(size);
+			current = frontier[index];
+			frontier[index] = frontier[--size];
+
+			listener.setColor(current, Palette.RED);
+			listener.step();
+
+			//Random cell in maze that is adjacent to current.
+			int inMaze = grid.maskIn(current, grid.neighborMask(current), maze);
+			grid.knockDownWall(current, grid.neighbor(current,
+					MazeGrid.randomDirection(random, inMaze)));
+
+			maze.set(current);
+			listener.setColor(current, Palette.WHITE);
+
+			int mask = grid.neighborMask(current);
+			for(mask &= ~grid.maskIn(current, mask, seen); mask != 0; mask &= mask - 1){
+				int neighbor = grid.neighbor(current, Integer.lowestOneBit(mask));
+				frontier[size++] = neighbor;
+				seen.set(neighbor);
+				listener.setColor(neighbor, Palette.CYAN);
+			}
+			listener.frontier(size);
+		}
+	}
+
+	public String getName(){
+		return "Prim's";
+	}
+}
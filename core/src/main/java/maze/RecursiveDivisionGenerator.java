@@ -0,0 +1,162 @@
+package maze;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze by recursive division: starting from a grid with no walls,
+ * each region is split in two by a wall with a single gap, and each half is
+ * divided again.
+ */
+public class RecursiveDivisionGenerator implements MazeGenerator {
+
+	private static double randomNum(RandomGenerator random){
+		return (random.nextDouble() + random.nextDouble())/2;
+	}
+
+	/**
+	 * A random texture for a whole maze. Higher textures favor splitting
+	 * regions across their longer side.
+	 */
+	static double texture(RandomGenerator random){
+		return 0.5 + randomNum(random)/2;
+	}
+
+	/**
+	 * Chooses whether a region is split by a vertical or horizontal line.
+	 */
+	static boolean isVertical(RandomGenerator random, int height, int width,
+			double texture){
+		//The following random conditions slightly vary the texture of
+		//the maze.
+		
+		boolean verticalLine = width > height;
+		
+		//Math.random() < (texture)/Math.log(1 + width * height)
+		if(random.nextDouble() < Math.pow(texture, Math.cbrt(width * height))){
+			verticalLine = !verticalLine;
+		}
+		
+		if(height < 3){
+			verticalLine = random.nextDouble() > texture;
+		} else if(width < 3){
+			verticalLine = random.nextDouble() < texture;
+		}
+		return verticalLine;
+	}
+
+	/**
+	 * Raises the wall between a cell and its neighbor below or to the right,
+	 * atomically only if its word also holds the cells of another thread.
+	 *
+	 * @param row The row of the cell.
+	 * @param edgeLeft The left column of the region of this thread, or -1 if
+	 * 		no other thread writes the grid.
+	 * @param edgeRight The right column of that region.
+	 */
+	static void raiseWall(MazeGrid grid, int a, int b, int row, int edgeLeft,
+			int edgeRight){
+		//The owner of a wall is the cell above or to the left of it, and the
+		//words between the ends of its row hold cells of this region alone.
+		int word = a >>> 5;
+		if(edgeLeft < 0 || (word > grid.index(row, edgeLeft) >>> 5
+				&& word < grid.index(row, edgeRight) >>> 5)){
+			grid.raiseWall(a, b);
+		} else {
+			grid.raiseWallAtomically(a, b);
+		}
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.knockDownAllWalls();
+		for(int cell = 0; cell < grid.size(); cell++){
+			listener.setColor(cell, Palette.WHITE);
+		}
+		divide(grid, random, listener, 0, grid.getRows() - 1, 0,
+				grid.getColumns() - 1, texture(random), -1, -1);
+	}
+
+	/**
+	 * Divides the region between the given rows and columns, inclusive, which
+	 * must have no walls inside it.
+	 *
+	 * @param edgeLeft The left column of the region other threads may be
+	 * 		dividing around at the same time, or -1 if no other thread writes
+	 * 		the grid. Walls in the words at the ends of its rows are raised
+	 * 		atomically.
+	 * @param edgeRight The right column of that region.
+	 */
+	static void divide(MazeGrid grid, RandomGenerator random,
+			StepListener listener, int top, int bottom, int left, int right,
+			double texture, int edgeLeft, int edgeRight){
+		if(bottom - top < 1 || right - left < 1){
+			return;
+		}
+		
+		if(!isVertical(random, bottom - top, right - left, texture)){
+			//Note: bottom > top because the origin is in the top left.
+			int randRow = top + random.nextInt(bottom - top);
+			int skipColumn = left + random.nextInt(right - left);
+
+			colorRegion(grid, listener, top, bottom, left, right, Palette.GREEN);
+			listener.step();
+
+			for(int i = left; i <= right; i ++){
+				if(i != skipColumn){
+					raiseWall(grid, grid.index(randRow, i), grid.index(randRow + 1, i),
+							randRow, edgeLeft, edgeRight);
+					listener.step();
+				}
+			}
+
+			listener.step();
+
+			colorRegion(grid, listener, top, bottom, left, right, Palette.WHITE);
+
+			divide(grid, random, listener, top, randRow, left, right,
+					texture, edgeLeft, edgeRight);
+			divide(grid, random, listener, randRow + 1, bottom, left, right,
+					texture, edgeLeft, edgeRight);
+
+		} else {
+
+			int randColumn = left + random.nextInt(right - left);
+			int skipRow = top + random.nextInt(bottom - top);
+
+			colorRegion(grid, listener, top, bottom, left, right, Palette.GREEN);
+			listener.step();
+
+
+			for(int i = top; i <= bottom; i ++){
+				if(i != skipRow){
+					raiseWall(grid, grid.index(i, randColumn),
+							grid.index(i, randColumn + 1), i, edgeLeft, edgeRight);
+					listener.step();
+				}
+			}
+
+			listener.step();
+
+			colorRegion(grid, listener, top, bottom, left, right, Palette.WHITE);
+
+			divide(grid, random, listener, top, bottom, left, randColumn,
+					texture, edgeLeft, edgeRight);
+			divide(grid, random, listener, top, bottom, randColumn + 1, right,
+					texture, edgeLeft, edgeRight);
+
+		}
+	}
+
+	private static void colorRegion(MazeGrid grid, StepListener listener,
+			int top, int bottom, int left, int right, byte color){
+		for(int i = top; i <= bottom; i++){
+			for(int j = left; j <= right; j++){
+				listener.setColor(grid.index(i, j), color);
+			}
+		}
+	}
+
+	public String getName(){
+		return "Recursive Division";
+	}
+}
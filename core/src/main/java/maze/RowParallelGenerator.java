@@ -0,0 +1,141 @@
+package maze;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * A generator whose rows are carved independently of each other, so that
+ * bands of rows can be carved in parallel on a {@link ForkJoinPool}. A row
+ * may only knock down the walls between its own cells and the walls above
+ * them.
+ * <p>
+ * Every row has its own random generator, seeded from the given one before
+ * any row is carved, so the maze depends only on the seed and not on the
+ * pool, the threshold or how tasks are scheduled. Bands share words of the
+ * {@link MazeGrid} only at their edges, where walls are knocked down
+ * atomically. The rows are carved in order on the calling thread when
+ * {@link MazeGenerator#isSequential} holds.
+ */
+public abstract class RowParallelGenerator implements MazeGenerator {
+
+	/** The default number of cells below which a band is not forked.		 */
+	public static final int THRESHOLD = 1 << 14;
+
+	private final ForkJoinPool pool;
+
+	private final int threshold;
+
+	protected RowParallelGenerator(){
+		this(ForkJoinPool.commonPool(), THRESHOLD);
+	}
+
+	protected RowParallelGenerator(ForkJoinPool pool, int threshold){
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		long[] seeds = new long[grid.getRows()];
+		for(int row = 0; row < seeds.length; row++){
+			seeds[row] = random.nextLong();
+		}
+
+		Band all = new Band(grid, seeds, 0, grid.getRows() - 1, listener);
+		if(MazeGenerator.isSequential(grid, listener)){
+			all.carve();
+		} else {
+			pool.invoke(all);
+			grid.countChange();
+		}
+	}
+
+	/**
+	 * Carves one row of the maze.
+	 *
+	 * @param band The band holding the row, through which walls are knocked
+	 * down.
+	 * @param random The generator of this row alone.
+	 */
+	protected abstract void carveRow(Band band, int row, RandomGenerator random);
+
+	/**
+	 * The rows between top and bottom, inclusive, carved by one task.
+	 */
+	protected class Band extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MazeGrid grid;
+
+		private final long[] seeds;
+
+		private final int top, bottom;
+
+		private final StepListener listener;
+
+		/**
+		 * The words of the grid strictly between these are written by this
+		 * band alone.
+		 */
+		private final int firstWord, lastWord;
+
+		Band(MazeGrid grid, long[] seeds, int top, int bottom, StepListener listener){
+			this.grid = grid;
+			this.seeds = seeds;
+			this.top = top;
+			this.bottom = bottom;
+			this.listener = listener;
+			//The band above writes into the row above top, and the band below
+			//writes into the bottom row.
+			firstWord = grid.index(top, 0) >>> 5;
+			lastWord = grid.index(bottom, 0) >>> 5;
+		}
+
+		public MazeGrid getGrid(){
+			return grid;
+		}
+
+		/**
+		 * Removes the wall between a cell of the band and its neighbor to the
+		 * right or above, atomically if another band may write the same word.
+		 */
+		public void knockDownWall(int a, int b){
+			//The owner of a wall is the cell above or to the left of it.
+			int word = Math.min(a, b) >>> 5;
+			if(word > firstWord && word < lastWord){
+				grid.knockDownWall(a, b);
+			} else {
+				grid.knockDownWallAtomically(a, b);
+			}
+		}
+
+		public void setColor(int cell, byte color){
+			listener.setColor(cell, color);
+		}
+
+		protected void compute(){
+			int height = bottom - top + 1;
+			if(height == 1 || (long)height * grid.getColumns() < threshold){
+				carve();
+				return;
+			}
+			int middle = top + height/2;
+			invokeAll(new Band(grid, seeds, top, middle - 1, listener),
+					new Band(grid, seeds, middle, bottom, listener));
+		}
+
+		/** Carves the rows of the band in order on this thread.				 */
+		void carve(){
+			for(int row = top; row <= bottom; row++){
+				carveRow(this, row, new SplittableRandom(seeds[row]));
+				listener.step();
+			}
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package maze;
+
+import java.io.IOException;
+
+/**
+ * Receives a maze one row at a time, top to bottom, e.g. from a generator
+ * that never holds the whole maze in memory.
+ */
+public interface RowSink {
+
+	/** The bits of a cell in a row that hold its right and bottom walls.	 */
+	int RIGHT = 1, BOTTOM = 2;
+
+	/**
+	 * Called with every row once it is finished.
+	 *
+	 * @param row The index of the row.
+	 * @param walls The walls of every cell in the row, as {@link #RIGHT} and
+	 * {@link #BOTTOM} bits. The array is reused for the next row.
+	 */
+	void row(int row, byte[] walls) throws IOException;
+}
@@ -0,0 +1,44 @@
+package maze;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with the sidewinder algorithm. Each row is cut into runs of
+ * cells joined left to right, and every run is joined to the row above through
+ * one of its cells chosen at random. Rows never look at each other, so they
+ * are carved in parallel. The top row is a single open corridor.
+ */
+public class SidewinderGenerator extends RowParallelGenerator {
+
+	public SidewinderGenerator(){
+	}
+
+	public SidewinderGenerator(ForkJoinPool pool, int threshold){
+		super(pool, threshold);
+	}
+
+	protected void carveRow(Band band, int row, RandomGenerator random){
+		MazeGrid grid = band.getGrid();
+		int columns = grid.getColumns();
+		int first = grid.index(row, 0);
+
+		int start = first;
+		for(int cell = first; cell < first + columns; cell++){
+			band.setColor(cell, Palette.WHITE);
+			boolean last = cell == first + columns - 1;
+			if(!last && (row == 0 || random.nextBoolean())){
+				band.knockDownWall(cell, cell + 1);
+			} else if(row > 0){
+				//Closes the run with a passage up from one of its cells.
+				int up = start + random.nextInt(cell - start + 1);
+				band.knockDownWall(up, up - columns);
+				start = cell + 1;
+			}
+		}
+	}
+
+	public String getName(){
+		return "Sidewinder";
+	}
+}
@@ -0,0 +1,56 @@
+package maze;
+
+/**
+ * Receives the progress of a {@link MazeGenerator} or {@link MazeSolver} so
+ * that it can be visualized or measured. Algorithms run at full speed when
+ * given {@link #NONE}.
+ */
+public interface StepListener {
+
+	/** A listener that ignores every step.									 */
+	StepListener NONE = new StepListener(){
+		public void setColor(int cell, byte color){}
+
+		public void step(){}
+
+		public boolean isAnimated(){
+			return false;
+		}
+	};
+
+	/**
+	 * Called when the algorithm highlights a cell.
+	 *
+	 * @param color One of the {@link Palette} codes.
+	 */
+	void setColor(int cell, byte color);
+
+	/**
+	 * Called at the end of every step of the algorithm, i.e. whenever the
+	 * maze is worth redrawing.
+	 */
+	void step();
+
+	/**
+	 * Called with the number of cells waiting on the stack, queue or frontier
+	 * of the algorithm whenever it grows. Algorithms without one never call
+	 * this.
+	 */
+	default void frontier(int size){}
+
+	/**
+	 * Called when the algorithm gives up on a dead end and returns to an
+	 * earlier cell.
+	 */
+	default void backtrack(){}
+
+	/**
+	 * Holds whether the listener shows the steps, so that they must come in
+	 * order from one thread. A listener that is not animated, such as one
+	 * that only counts the steps, may be called from several threads at once
+	 * by a parallel generator, and must be thread-safe.
+	 */
+	default boolean isAnimated(){
+		return true;
+	}
+}
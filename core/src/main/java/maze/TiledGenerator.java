@@ -0,0 +1,244 @@
+package maze;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a giant maze by cutting the grid into square tiles, carving a maze
+ * inside every tile with another generator, and then joining the tiles. The
+ * tiles are carved in parallel on a {@link ForkJoinPool}, each in a small grid
+ * of its own that fits in cache. The tiles are then joined along a random
+ * spanning tree of the tile graph, found with a {@link UnionFind} over tile
+ * indices, by knocking down one random wall of every boundary in the tree.
+ * Since every tile is a spanning tree of its cells, so is the whole maze.
+ * <p>
+ * Every tile has its own random generator, seeded from the given one before
+ * any tile is carved, so the maze depends only on the seed and not on how
+ * tasks are scheduled. The tiles are carved in order on the calling thread
+ * when {@link MazeGenerator#isSequential} holds.
+ */
+public class TiledGenerator implements MazeGenerator {
+
+	/** The default width of a tile, in cells.								 */
+	public static final int TILE = 256;
+
+	private final MazeGenerator generator;
+
+	private final ForkJoinPool pool;
+
+	private final int tile;
+
+	public TiledGenerator(MazeGenerator generator){
+		this(generator, ForkJoinPool.commonPool(), TILE);
+	}
+
+	/**
+	 * @param generator Carves every tile.
+	 * @param tile The width of a tile, in cells.
+	 */
+	public TiledGenerator(MazeGenerator generator, ForkJoinPool pool, int tile){
+		if(tile < 1){
+			throw new IllegalArgumentException("Invalid tile size: " + tile);
+		}
+		this.generator = generator;
+		this.pool = pool;
+		this.tile = tile;
+	}
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		int tileRows = (grid.getRows() + tile - 1)/tile;
+		int tileColumns = (grid.getColumns() + tile - 1)/tile;
+		long[] seeds = new long[tileRows * tileColumns];
+		for(int i = 0; i < seeds.length; i++){
+			seeds[i] = random.nextLong();
+		}
+
+		Tiles all = new Tiles(grid, seeds, tileColumns, 0, seeds.length, listener);
+		if(MazeGenerator.isSequential(grid, listener)){
+			all.carve();
+		} else {
+			pool.invoke(all);
+			grid.countChange();
+		}
+
+		stitch(grid, random, tileRows, tileColumns, listener);
+	}
+
+	/**
+	 * Joins the tiles into one maze. Every boundary between two tiles is an
+	 * edge of the tile graph, and the edges are tried in random order, opening
+	 * one wall of every edge that joins two separate parts.
+	 */
+	private void stitch(MazeGrid grid, RandomGenerator random, int tileRows,
+			int tileColumns, StepListener listener){
+		int tiles = tileRows * tileColumns;
+		//Edge 2t joins tile t to the tile right of it, 2t + 1 to the tile below.
+		int[] edges = new int[2 * tiles];
+		int count = 0;
+		for(int t = 0; t < tiles; t++){
+			if(t % tileColumns < tileColumns - 1){
+				edges[count++] = 2*t;
+			}
+			if(t < tiles - tileColumns){
+				edges[count++] = 2*t + 1;
+			}
+		}
+		for(int i = count - 1; i > 0; i--){
+			int j = random.nextInt(i + 1);
+			int temp = edges[i];
+			edges[i] = edges[j];
+			edges[j] = temp;
+		}
+
+		UnionFind sets = new UnionFind(tiles);
+		int rows = grid.getRows(), columns = grid.getColumns();
+		for(int i = 0; i < count; i++){
+			int t = edges[i] >>> 1;
+			boolean below = (edges[i] & 1) != 0;
+			if(!sets.union(t, below ? t + tileColumns : t + 1)){
+				continue;
+			}
+
+			int top = (t / tileColumns)*tile, left = (t % tileColumns)*tile;
+			int cell;
+			if(below){
+				//A random cell of the bottom row of the tile opens down.
+				int width = Math.min(tile, columns - left);
+				cell = grid.index(top + tile - 1, left + random.nextInt(width));
+				grid.knockDownWall(cell, cell + columns);
+			} else {
+				//A random cell of the right column of the tile opens right.
+				int height = Math.min(tile, rows - top);
+				cell = grid.index(top + random.nextInt(height), left + tile - 1);
+				grid.knockDownWall(cell, cell + 1);
+			}
+			listener.setColor(cell, Palette.WHITE);
+			listener.step();
+		}
+	}
+
+	/**
+	 * The tiles between from, inclusive, and to, exclusive, carved by one
+	 * task.
+	 */
+	private class Tiles extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MazeGrid grid;
+
+		private final long[] seeds;
+
+		private final int tileColumns, from, to;
+
+		private final StepListener listener;
+
+		Tiles(MazeGrid grid, long[] seeds, int tileColumns, int from, int to,
+				StepListener listener){
+			this.grid = grid;
+			this.seeds = seeds;
+			this.tileColumns = tileColumns;
+			this.from = from;
+			this.to = to;
+			this.listener = listener;
+		}
+
+		protected void compute(){
+			if(to - from == 1){
+				carve();
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Tiles(grid, seeds, tileColumns, from, middle, listener),
+					new Tiles(grid, seeds, tileColumns, middle, to, listener));
+		}
+
+		/** Carves the tiles in order on this thread.							 */
+		void carve(){
+			for(int t = from; t < to; t++){
+				carveTile(t);
+			}
+		}
+
+		/**
+		 * Carves the tile in a grid of its own and copies its passages into
+		 * the maze.
+		 */
+		private void carveTile(int t){
+			final int top = (t / tileColumns)*tile, left = (t % tileColumns)*tile;
+			int height = Math.min(tile, grid.getRows() - top);
+			final int width = Math.min(tile, grid.getColumns() - left);
+			final int columns = grid.getColumns();
+
+			StepListener local = listener;
+			if(listener != StepListener.NONE){
+				//Cells of the tile are reported as cells of the maze.
+				local = new StepListener(){
+					public void setColor(int cell, byte color){
+						listener.setColor((top + cell/width)*columns + left + cell%width, color);
+					}
+
+					public void step(){
+						listener.step();
+					}
+
+					public void frontier(int size){
+						listener.frontier(size);
+					}
+
+					public void backtrack(){
+						listener.backtrack();
+					}
+
+					public boolean isAnimated(){
+						return listener.isAnimated();
+					}
+				};
+			}
+
+			MazeGrid part = new MazeGrid(height, width);
+			generator.generate(part, new SplittableRandom(seeds[t]), local);
+
+			if(grid.getWallListener() == null){
+				grid.paste(part, top, left);
+				return;
+			}
+
+			//The listener is told of every passage.
+			for(int row = 0; row < height; row++){
+				int first = grid.index(top + row, left), last = first + width - 1;
+				//Only the words at the ends of the row may hold cells of
+				//another tile.
+				int firstWord = first >>> 5, lastWord = last >>> 5;
+				for(int column = 0; column < width; column++){
+					int inner = row*width + column, cell = first + column;
+					boolean atomic = (cell >>> 5) == firstWord || (cell >>> 5) == lastWord;
+					if(column < width - 1 && !part.hasRightWall(inner)){
+						knockDownWall(cell, cell + 1, atomic);
+					}
+					if(row < height - 1 && !part.hasBottomWall(inner)){
+						knockDownWall(cell, cell + columns, atomic);
+					}
+				}
+			}
+		}
+
+		private void knockDownWall(int a, int b, boolean atomic){
+			if(atomic){
+				grid.knockDownWallAtomically(a, b);
+			} else {
+				grid.knockDownWall(a, b);
+			}
+		}
+	}
+
+	public String getName(){
+		return generator.getName() + " in tiles";
+	}
+}
@@ -0,0 +1,82 @@
+package maze;
+
+/**
+ * A disjoint-set forest over the integers <code>0..size-1</code> with path
+ * compression and union by rank, so every operation runs in near constant
+ * amortized time.
+ */
+public class UnionFind {
+
+	private final int[] parent;
+
+	private final byte[] rank;
+
+	/** The number of disjoint sets.										 */
+	private int components;
+
+	/**
+	 * Makes <code>size</code> singleton sets.
+	 */
+	public UnionFind(int size){
+		parent = new int[size];
+		rank = new byte[size];
+		for(int i = 0; i < size; i++){
+			parent[i] = i;
+		}
+		components = size;
+	}
+
+	/**
+	 * The representative of the set containing <code>a</code>.
+	 */
+	public int find(int a){
+		int root = a;
+		while(parent[root] != root){
+			root = parent[root];
+		}
+
+		//Path compression.
+		while(parent[a] != root){
+			int next = parent[a];
+			parent[a] = root;
+			a = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Merges the sets containing <code>a</code> and <code>b</code>.
+	 *
+	 * @return false if they were already in the same set.
+	 */
+	public boolean union(int a, int b){
+		int rootA = find(a), rootB = find(b);
+		if(rootA == rootB){
+			return false;
+		}
+
+		if(rank[rootA] < rank[rootB]){
+			parent[rootA] = rootB;
+		} else if(rank[rootA] > rank[rootB]){
+			parent[rootB] = rootA;
+		} else {
+			parent[rootB] = rootA;
+			rank[rootA]++;
+		}
+		components--;
+		return true;
+	}
+
+	public boolean connected(int a, int b){
+		return find(a) == find(b);
+	}
+
+	/** The number of disjoint sets.										 */
+	public int components(){
+		return components;
+	}
+
+	public int size(){
+		return parent.length;
+	}
+}
@@ -0,0 +1,258 @@
+package maze;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * A view of a maze that can be panned and zoomed. Only the cells inside the
+ * clip are drawn, so the time to draw a frame depends on the size of the
+ * window and not on the size of the maze. Cells narrower than
+ * {@link #DETAIL} pixels are drawn into an overview image instead, with one
+ * pixel per cell or one cell per pixel, shaded from the wall data.
+ */
+public class Viewport {
+
+	/** The narrowest cell that is drawn with shapes, in pixels.			 */
+	public static final double DETAIL = 4;
+
+	/** The narrowest and widest cell allowed, in pixels.					 */
+	public static final double MIN_SCALE = 1.0 / 64, MAX_SCALE = 256;
+
+	private final MazeGrid walls;
+
+	/** The color of every cell, as one of the {@link Palette} codes.		 */
+	private final byte[] colors;
+
+	/** The width of a cell in pixels.										 */
+	private double scale;
+
+	/** The position of the top left corner of the maze in pixels.			 */
+	private double tx, ty;
+
+	/** The overview image, reused while the clip keeps its size.			 */
+	private BufferedImage overview;
+
+	/** The column and row under every column and row of the overview.		 */
+	private int[] columnAt, rowAt;
+
+	/** The RGB of every palette color, full, shaded and dark.				 */
+	private final int[][] shades = new int[3][8];
+
+	public Viewport(MazeGrid walls, byte[] colors, double x, double y, double scale){
+		this.walls = walls;
+		this.colors = colors;
+		tx = x;
+		ty = y;
+		this.scale = scale;
+
+		for(byte color = 0; color < 8; color++){
+			Color c = Palette.get(color);
+			shades[0][color] = c.getRGB();
+			shades[1][color] = c.darker().darker().getRGB();
+			shades[2][color] = Color.BLACK.getRGB();
+		}
+	}
+
+	public double getScale(){
+		return scale;
+	}
+
+	public double getX(){
+		return tx;
+	}
+
+	public double getY(){
+		return ty;
+	}
+
+	/** Moves the maze by the given number of pixels.						 */
+	public void pan(double dx, double dy){
+		tx += dx;
+		ty += dy;
+	}
+
+	/**
+	 * Zooms by the given factor, keeping the point at (px, py) on the same
+	 * part of the maze.
+	 */
+	public void zoom(double factor, double px, double py){
+		factor = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale*factor))/scale;
+		tx = px - (px - tx)*factor;
+		ty = py - (py - ty)*factor;
+		scale *= factor;
+	}
+
+	/** Shows the maze with the given corner and cell width.				 */
+	public void set(double x, double y, double scale){
+		tx = x;
+		ty = y;
+		this.scale = scale;
+	}
+
+	/**
+	 * Zooms and pans so that the whole maze fits in the given bounds.
+	 */
+	public void fit(Rectangle bounds){
+		scale = Math.max(MIN_SCALE, Math.min((double)bounds.width/walls.getColumns(),
+				(double)bounds.height/walls.getRows()));
+		tx = bounds.x;
+		ty = bounds.y;
+	}
+
+	/** The column under the given x, which may be outside the maze.		 */
+	public int columnAt(double px){
+		return (int)Math.floor((px - tx)/scale);
+	}
+
+	/** The row under the given y, which may be outside the maze.			 */
+	public int rowAt(double py){
+		return (int)Math.floor((py - ty)/scale);
+	}
+
+	/** The x of the left side of the given column, rounded down.			 */
+	private int left(int column){
+		return (int)Math.floor(tx + column*scale);
+	}
+
+	/** The y of the top side of the given row, rounded down.				 */
+	private int top(int row){
+		return (int)Math.floor(ty + row*scale);
+	}
+
+	/**
+	 * Draws the part of the maze inside the clip of the given graphics, which
+	 * must be set.
+	 */
+	public void draw(Graphics g){
+		Rectangle clip = g.getClipBounds();
+		if(clip == null || clip.isEmpty()){
+			return;
+		}
+		if(scale < DETAIL){
+			drawOverview(g, clip);
+		} else {
+			drawCells(g, clip);
+		}
+	}
+
+	/**
+	 * Draws the visible cells as rectangles, merging runs of cells of the same
+	 * color and runs of bottom walls in every row.
+	 */
+	private void drawCells(Graphics g, Rectangle clip){
+		int rows = walls.getRows(), columns = walls.getColumns();
+		int column0 = Math.max(columnAt(clip.x) - 1, 0);
+		int column1 = Math.min(columnAt(clip.x + clip.width) + 1, columns - 1);
+		int row0 = Math.max(rowAt(clip.y) - 1, 0);
+		int row1 = Math.min(rowAt(clip.y + clip.height) + 1, rows - 1);
+		if(column0 > column1 || row0 > row1){
+			return;
+		}
+
+		for(int row = row0; row <= row1; row++){
+			int y0 = top(row), y1 = top(row + 1), base = row*columns;
+			for(int column = column0; column <= column1; ){
+				byte color = colors[base + column];
+				int end = column + 1;
+				while(end <= column1 && colors[base + end] == color){
+					end++;
+				}
+				g.setColor(Palette.get(color));
+				g.fillRect(left(column), y0, left(end) - left(column), y1 - y0);
+				column = end;
+			}
+		}
+
+		int thickness = Math.max(1, (int)(scale/4)), half = thickness/2;
+		g.setColor(Color.BLACK);
+
+		//The top and left borders belong to no cell.
+		if(row0 == 0){
+			g.fillRect(left(column0) - half, top(0) - half,
+					left(column1 + 1) - left(column0) + thickness, thickness);
+		}
+		if(column0 == 0){
+			g.fillRect(left(0) - half, top(row0) - half,
+					thickness, top(row1 + 1) - top(row0) + thickness);
+		}
+
+		for(int row = row0; row <= row1; row++){
+			int y0 = top(row), y1 = top(row + 1), base = row*columns;
+			for(int column = column0; column <= column1; column++){
+				if(walls.hasRightWall(base + column)){
+					g.fillRect(left(column + 1) - half, y0 - half, thickness, y1 - y0 + thickness);
+				}
+			}
+			for(int column = column0; column <= column1; ){
+				if(!walls.hasBottomWall(base + column)){
+					column++;
+					continue;
+				}
+				int end = column + 1;
+				while(end <= column1 && walls.hasBottomWall(base + end)){
+					end++;
+				}
+				g.fillRect(left(column) - half, y1 - half,
+						left(end) - left(column) + thickness, thickness);
+				column = end;
+			}
+		}
+	}
+
+	/**
+	 * Draws the clip pixel by pixel. Each pixel shows the cell under it. When
+	 * cells are wider than a pixel, the last pixel of a cell is black if it
+	 * has a wall there; otherwise the cell is shaded by how many of its right
+	 * and bottom walls are raised.
+	 */
+	private void drawOverview(Graphics g, Rectangle clip){
+		int w = clip.width, h = clip.height;
+		if(overview == null || overview.getWidth() != w || overview.getHeight() != h){
+			overview = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+			columnAt = new int[w + 1];
+			rowAt = new int[h + 1];
+		}
+		int[] pixels = ((DataBufferInt)overview.getRaster().getDataBuffer()).getData();
+
+		int rows = walls.getRows(), columns = walls.getColumns();
+		for(int i = 0; i <= w; i++){
+			columnAt[i] = columnAt(clip.x + i);
+		}
+		for(int i = 0; i <= h; i++){
+			rowAt[i] = rowAt(clip.y + i);
+		}
+
+		boolean edges = scale >= 1;
+		for(int i = 0; i < h; i++){
+			int row = rowAt[i], offset = i*w;
+			if(row < 0 || row >= rows){
+				Arrays.fill(pixels, offset, offset + w, 0);
+				continue;
+			}
+			boolean bottomEdge = rowAt[i + 1] != row;
+			for(int j = 0; j < w; j++){
+				int column = columnAt[j];
+				if(column < 0 || column >= columns){
+					pixels[offset + j] = 0;
+					continue;
+				}
+				int cell = row*columns + column;
+				int shade;
+				if(edges){
+					boolean wall = (columnAt[j + 1] != column && walls.hasRightWall(cell))
+							|| (bottomEdge && walls.hasBottomWall(cell));
+					shade = wall ? 2 : 0;
+				} else {
+					shade = (walls.hasRightWall(cell) ? 1 : 0)
+							+ (walls.hasBottomWall(cell) ? 1 : 0);
+				}
+				pixels[offset + j] = shades[shade][colors[cell]];
+			}
+		}
+		g.drawImage(overview, clip.x, clip.y, null);
+	}
+}
@@ -0,0 +1,92 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * Solves a maze by keeping one hand on the wall: at every cell the walker
+ * turns toward its hand if it can, else goes straight, else turns away, else
+ * turns back. Detours into dead ends are erased from the path as the walker
+ * returns from them. The goal is always found in a perfect maze; in a maze with
+ * loops the walker may circle an island forever, in which case it gives up
+ * after it has followed every wall.
+ */
+public class WallFollowerSolver implements MazeSolver {
+
+	/** Holds whether the walker follows the wall on its left.				 */
+	private final boolean leftHand;
+
+	public WallFollowerSolver(){
+		this(true);
+	}
+
+	public WallFollowerSolver(boolean leftHand){
+		this.leftHand = leftHand;
+	}
+
+	/** The direction a quarter turn clockwise of the given direction.		 */
+	private static int clockwise(int direction){
+		return ((direction << 1) | (direction >>> 3)) & 0xF;
+	}
+
+	/** The direction a quarter turn counterclockwise of the given direction. */
+	private static int counterclockwise(int direction){
+		return ((direction >>> 1) | (direction << 3)) & 0xF;
+	}
+
+	public int[] solve(MazeGrid grid, int start, int goal,
+			StepListener listener){
+		//The index of each cell in the path, or -1 if it is not on it.
+		int[] position = new int[grid.size()];
+		Arrays.fill(position, -1);
+
+		int[] path = new int[16];
+		int length = 0;
+
+		int cell = start, heading = MazeGrid.BOTTOM;
+		position[cell] = length;
+		path[length++] = cell;
+
+		//Each side of each wall is followed at most once per lap.
+		for(long steps = 4L * grid.size(); cell != goal; steps--){
+			if(steps == 0){
+				return null;
+			}
+
+			int passages = grid.passageMask(cell);
+			if(passages == 0){
+				return null;
+			}
+
+			//Turn toward the hand first and then away from it.
+			int direction = leftHand ? counterclockwise(heading) : clockwise(heading);
+			while((passages & direction) == 0){
+				direction = leftHand ? clockwise(direction) : counterclockwise(direction);
+			}
+			heading = direction;
+			cell = grid.neighbor(cell, direction);
+			listener.step();
+
+			if(position[cell] >= 0){
+				//The walker came back, so the loop since then is erased.
+				for(int i = position[cell] + 1; i < length; i++){
+					position[path[i]] = -1;
+				}
+				length = position[cell] + 1;
+				listener.backtrack();
+			} else {
+				if(length == path.length){
+					path = Arrays.copyOf(path, length * 2);
+				}
+				position[cell] = length;
+				path[length++] = cell;
+				listener.frontier(length);
+			}
+		}
+
+		return Arrays.copyOf(path, length);
+	}
+
+	public String getName(){
+		return leftHand ? "Left Wall Follower" : "Right Wall Follower";
+	}
+}
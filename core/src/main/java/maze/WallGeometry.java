@@ -0,0 +1,167 @@
+package maze;
+
+import java.awt.Graphics;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+
+/**
+ * The walls of a maze merged into as few segments as possible. Rows and
+ * columns of wall boundaries are scanned and each maximal run of contiguous
+ * walls becomes one segment, so a straight wall along 200 cells is one
+ * rectangle rather than 400 lines, and a wall shared by two cells is drawn
+ * once. The segments are cached until the walls change.
+ * <p>
+ * Segments are rectangles on whole pixels that reach past the ends of the
+ * wall by half their thickness, like a square capped stroke, so
+ * {@link #fill} gives exactly the same pixels as filling the walls of each
+ * cell one at a time with {@link #fillSegment}. Filling the rectangles one by
+ * one is faster than filling or stroking them as one large {@link Path2D},
+ * which Java2D rasterizes as a general shape; {@link #getPath} is there for
+ * callers that need a single shape.
+ */
+public class WallGeometry {
+
+	private final MazeGrid walls;
+
+	/** The position of the top left corner of the maze and the cell width.	 */
+	private final int x, y, width;
+
+	/** The thickness of a wall.											 */
+	private final int thickness;
+
+	/** The x, y, width and height of every segment.						 */
+	private int[] segments = new int[64];
+
+	private int count;
+
+	private Path2D.Float path;
+
+	/** The mod count of the walls when the segments were built.			 */
+	private int builtAt;
+
+	private boolean built;
+
+	public WallGeometry(MazeGrid walls, int x, int y, int width){
+		this.walls = walls;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		thickness = Math.max(1, width/4);
+	}
+
+	/**
+	 * Fills every wall, building the segments again only if the walls have
+	 * changed.
+	 */
+	public void fill(Graphics g){
+		update();
+		for(int i = 0; i < 4*count; i += 4){
+			g.fillRect(segments[i], segments[i + 1], segments[i + 2], segments[i + 3]);
+		}
+	}
+
+	/**
+	 * The segments of every wall as one path, meant to be filled.
+	 */
+	public Path2D getPath(){
+		update();
+		if(path == null){
+			path = new Path2D.Float(Path2D.WIND_NON_ZERO, 5*count);
+			for(int i = 0; i < 4*count; i += 4){
+				float left = segments[i], top = segments[i + 1];
+				float right = left + segments[i + 2], bottom = top + segments[i + 3];
+				path.moveTo(left, top);
+				path.lineTo(right, top);
+				path.lineTo(right, bottom);
+				path.lineTo(left, bottom);
+				path.closePath();
+			}
+		}
+		return path;
+	}
+
+	/** The number of segments the walls are merged into.					 */
+	public int getSegmentCount(){
+		update();
+		return count;
+	}
+
+	/**
+	 * Fills the segment along the given boundary between two cell corners.
+	 *
+	 * @param horizontal Whether the boundary lies between two rows.
+	 * @param line The index of the boundary: 0 is the top or left border.
+	 * @param from The corner the segment starts at.
+	 * @param to The corner the segment ends at, past from.
+	 */
+	public void fillSegment(Graphics g, boolean horizontal, int line, int from, int to){
+		int offset = thickness/2, length = (to - from)*width + thickness;
+		if(horizontal){
+			g.fillRect(x + from*width - offset, y + line*width - offset, length, thickness);
+		} else {
+			g.fillRect(x + line*width - offset, y + from*width - offset, thickness, length);
+		}
+	}
+
+	private void addSegment(boolean horizontal, int line, int from, int to){
+		if(4*count == segments.length){
+			segments = Arrays.copyOf(segments, 2*segments.length);
+		}
+		int offset = thickness/2, length = (to - from)*width + thickness, i = 4*count++;
+		if(horizontal){
+			segments[i] = x + from*width - offset;
+			segments[i + 1] = y + line*width - offset;
+			segments[i + 2] = length;
+			segments[i + 3] = thickness;
+		} else {
+			segments[i] = x + line*width - offset;
+			segments[i + 1] = y + from*width - offset;
+			segments[i + 2] = thickness;
+			segments[i + 3] = length;
+		}
+	}
+
+	private void update(){
+		if(built && builtAt == walls.getModCount()){
+			return;
+		}
+		built = true;
+		builtAt = walls.getModCount();
+		path = null;
+		count = 0;
+
+		int rows = walls.getRows(), columns = walls.getColumns();
+
+		//Horizontal boundaries, from the top of the first row to the bottom of
+		//the last.
+		for(int i = 0; i <= rows; i++){
+			int start = -1;
+			for(int j = 0; j <= columns; j++){
+				boolean wall = j < columns
+						&& (i == 0 || i == rows || walls.hasBottomWall((i - 1)*columns + j));
+				if(wall && start < 0){
+					start = j;
+				} else if(!wall && start >= 0){
+					addSegment(true, i, start, j);
+					start = -1;
+				}
+			}
+		}
+
+		//Vertical boundaries, from the left of the first column to the right
+		//of the last.
+		for(int j = 0; j <= columns; j++){
+			int start = -1;
+			for(int i = 0; i <= rows; i++){
+				boolean wall = i < rows
+						&& (j == 0 || j == columns || walls.hasRightWall(i*columns + j - 1));
+				if(wall && start < 0){
+					start = i;
+				} else if(!wall && start >= 0){
+					addSegment(false, j, start, i);
+					start = -1;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a uniformly random maze with Wilson's algorithm. Starting from a
+ * maze of one cell, a loop-erased random walk is made from each cell outside
+ * the maze until it hits the maze, and the walk is added to the maze.
+ * <p>
+ * Loops are erased without keeping the walk: each cell only remembers the
+ * direction in which the walk last left it, so revisiting a cell overwrites
+ * the loop.
+ */
+public class WilsonGenerator implements MazeGenerator {
+
+	public void generate(MazeGrid grid, RandomGenerator random,
+			StepListener listener){
+		grid.raiseAllWalls();
+		listener.step();
+
+		BitSet inMaze = new BitSet(grid.size());
+		int root = random.nextInt(grid.size());
+		inMaze.set(root);
+		listener.setColor(root, Palette.WHITE);
+
+		complete(grid, random, listener, inMaze);
+	}
+
+	/**
+	 * Joins every cell outside the maze to it with loop-erased random walks.
+	 *
+	 * @param inMaze The cells of the maze, which must be nonempty. Every cell
+	 * 		is in it when this returns.
+	 */
+	static void complete(MazeGrid grid, RandomGenerator random,
+			StepListener listener, BitSet inMaze){
+		int size = grid.size();
+
+		//The direction in which the walk last left each cell.
+		byte[] next = new byte[size];
+
+		for(int start = inMaze.nextClearBit(0); start < size;
+				start = inMaze.nextClearBit(start + 1)){
+			//Walk until the maze is hit.
+			for(int cell = start; !inMaze.get(cell); ){
+				int direction = MazeGrid.randomDirection(random, grid.neighborMask(cell));
+				next[cell] = (byte)direction;
+
+				listener.setColor(cell, Palette.LIGHT_GRAY);
+				cell = grid.neighbor(cell, direction);
+				listener.setColor(cell, Palette.GREEN);
+				listener.step();
+			}
+
+			//Carve the loop-erased walk into the maze.
+			int cell = start;
+			while(!inMaze.get(cell)){
+				int neighbor = grid.neighbor(cell, next[cell]);
+				grid.knockDownWall(cell, neighbor);
+				inMaze.set(cell);
+				listener.setColor(cell, Palette.WHITE);
+				cell = neighbor;
+			}
+			//The cell the walk hit was already in the maze.
+			listener.setColor(cell, Palette.WHITE);
+			listener.step();
+		}
+	}
+
+	public String getName(){
+		return "Wilson's";
+	}
+}